@@ -7,6 +7,7 @@ import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static com.contentstack.sdk.Constants.ENVIRONMENT;
@@ -27,6 +28,7 @@ public class Asset {
     protected JSONObject json = null;
     protected String[] tagsArray = null;
     protected LinkedHashMap<String, Object> headers;
+    protected Deadline deadline;
     protected Stack stackInstance;
 
     protected Asset() {
@@ -40,7 +42,7 @@ public class Asset {
 
     protected void setStackInstance(@NotNull Stack stack) {
         this.stackInstance = stack;
-        this.headers = stack.headers;
+        this.headers = stack.copyHeaders();
     }
 
     /**
@@ -103,6 +105,27 @@ public class Asset {
         headers.remove(headerKey);
     }
 
+    /**
+     * Sets the deadline of the requests of this asset. A request still running when
+     * the deadline expires is cancelled and fails with an {@link Error} of code
+     * 408, its retries only get the time left. Without a deadline, only the
+     * timeouts of the {@link Config} apply.
+     *
+     * @param deadline the deadline, see {@link Deadline}
+     * @return Asset <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Asset asset = stack.asset("assetUid");
+     *         asset.setDeadline(Deadline.after(150, TimeUnit.MILLISECONDS)).fetch(callback);
+     *         </pre>
+     */
+    public Asset setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     protected void setUid(@NotNull String assetUid) {
         if (!assetUid.isEmpty()) {
             this.assetUid = assetUid;
@@ -537,6 +560,25 @@ public class Asset {
         fetchFromNetwork("assets/" + assetUid, urlQueries, this.headers, callback);
     }
 
+    /**
+     * Fetches the asset like {@link #fetch(FetchResultCallback)} and returns a
+     * future of this asset instead of notifying a callback.
+     *
+     * @return {@link CompletableFuture} of this {@link Asset}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails.
+     */
+    public CompletableFuture<Asset> fetchAsync() {
+        CompletableFuture<Asset> future = new CompletableFuture<>();
+        fetch(new FetchResultCallback() {
+            @Override
+            public void onCompletion(ResponseType responseType, Error error) {
+                ContentstackException.complete(future, Asset.this, error);
+            }
+        });
+        return future;
+    }
+
     private void fetchFromNetwork(String url, JSONObject urlQueries, LinkedHashMap<String, Object> headers,
             FetchResultCallback callback) {
         if (callback != null) {
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 import org.json.JSONObject;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static com.contentstack.sdk.Constants.ENVIRONMENT;
@@ -17,6 +18,7 @@ public class AssetLibrary implements INotifyClass {
     protected final JSONObject urlQueries;
     protected Stack stackInstance;
     protected LinkedHashMap<String, Object> headers;
+    protected Deadline deadline;
     protected FetchAssetsCallback callback;
     protected int count;
 
@@ -26,7 +28,7 @@ public class AssetLibrary implements INotifyClass {
 
     protected void setStackInstance(@NotNull Stack stack) {
         this.stackInstance = stack;
-        this.headers = stack.headers;
+        this.headers = stack.copyHeaders();
     }
 
     /**
@@ -50,6 +52,27 @@ public class AssetLibrary implements INotifyClass {
         }
     }
 
+    /**
+     * Sets the deadline of the requests of this asset library. A request still running when
+     * the deadline expires is cancelled and fails with an {@link Error} of code
+     * 408, its retries only get the time left. Without a deadline, only the
+     * timeouts of the {@link Config} apply.
+     *
+     * @param deadline the deadline, see {@link Deadline}
+     * @return AssetLibrary <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         AssetLibrary assets = stack.assetLibrary();
+     *         assets.setDeadline(Deadline.after(150, TimeUnit.MILLISECONDS)).fetchAll(callback);
+     *         </pre>
+     */
+    public AssetLibrary setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * Sort asset library.
      *
@@ -125,6 +148,24 @@ public class AssetLibrary implements INotifyClass {
         fetchFromNetwork("assets", urlQueries, headers, callback);
     }
 
+    /**
+     * Fetches all assets like {@link #fetchAll(FetchAssetsCallback)} and returns
+     * a future of the assets instead of notifying a callback.
+     *
+     * @return {@link CompletableFuture} of the assets, completed exceptionally
+     *         with a {@link ContentstackException} when the request fails.
+     */
+    public CompletableFuture<List<Asset>> fetchAllAsync() {
+        CompletableFuture<List<Asset>> future = new CompletableFuture<>();
+        fetchAll(new FetchAssetsCallback() {
+            @Override
+            public void onCompletion(ResponseType responseType, List<Asset> assets, Error error) {
+                ContentstackException.complete(future, assets, error);
+            }
+        });
+        return future;
+    }
+
     private void fetchFromNetwork(String url, JSONObject urlQueries, LinkedHashMap<String, Object> headers,
             FetchAssetsCallback callback) {
         if (callback != null) {
@@ -154,6 +195,11 @@ public class AssetLibrary implements INotifyClass {
 
     @Override
     public void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry) {
+        getResultObject(objects, jsonObject, isSingleEntry, ResponseType.NETWORK);
+    }
+
+    void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry,
+            ResponseType responseType) {
 
         if (jsonObject != null && jsonObject.has("count")) {
             count = jsonObject.optInt("count");
@@ -177,7 +223,7 @@ public class AssetLibrary implements INotifyClass {
         }
 
         if (callback != null) {
-            callback.onRequestFinish(ResponseType.NETWORK, assets);
+            callback.onRequestFinish(responseType, assets);
         }
     }
 
@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 
 class CSBackgroundTask {
@@ -19,10 +21,24 @@ class CSBackgroundTask {
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(stackInstance);
         csConnectionRequest.setStackInstance(stackInstance);
         csConnectionRequest.setURLQueries(urlParams);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callback);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback,
+                stackInstance.config.executor, null);
 
     }
 
+    // a request of the stack sent on the given executor, like the pages of a sync
+    protected CSBackgroundTask(Stack stackInstance, String controller, String url, HashMap<String, Object> headers,
+            HashMap<String, Object> urlParams, String requestInfo, Executor executor, Deadline deadline,
+            ResultCallBack callback) {
+        checkHeader(headers);
+        String completeUrl = stackInstance.config.getEndpoint() + url;
+        CSConnectionRequest csConnectionRequest = new CSConnectionRequest(stackInstance);
+        csConnectionRequest.setStackInstance(stackInstance);
+        csConnectionRequest.setURLQueries(urlParams);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback, executor,
+                deadline);
+    }
+
     protected CSBackgroundTask(Query queryInstance, Stack stackInstance, String controller, String url,
             LinkedHashMap<String, Object> headers, HashMap<String, Object> urlQueries, String requestInfo,
             ResultCallBack callback) {
@@ -31,10 +47,24 @@ class CSBackgroundTask {
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(queryInstance);
         csConnectionRequest.setQueryInstance(queryInstance);
         csConnectionRequest.setURLQueries(urlQueries);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callback);
+        Executor executor = queryInstance.executor != null ? queryInstance.executor : stackInstance.config.executor;
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback, executor,
+                queryInstance.deadline);
 
     }
 
+    // the URL of a prepared query comes with its parameters, the deadline is the one of the request
+    protected CSBackgroundTask(Query queryInstance, Stack stackInstance, String controller, String url,
+            LinkedHashMap<String, Object> headers, Deadline deadline, ResultCallBack callback) {
+        checkHeader(headers);
+        String completeUrl = stackInstance.config.getEndpoint() + url;
+        CSConnectionRequest csConnectionRequest = new CSConnectionRequest(queryInstance);
+        csConnectionRequest.setQueryInstance(queryInstance);
+        Executor executor = queryInstance.executor != null ? queryInstance.executor : stackInstance.config.executor;
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller,
+                Constants.REQUEST_CONTROLLER.QUERY.toString(), callback, executor, deadline);
+    }
+
     protected CSBackgroundTask(Entry entryInstance, Stack stackInstance, String controller, String url,
             LinkedHashMap<String, Object> headers, HashMap<String, Object> urlQueries, String requestInfo,
             ResultCallBack callBack) {
@@ -42,7 +72,8 @@ class CSBackgroundTask {
         String completeUrl = stackInstance.config.getEndpoint() + url;
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(entryInstance);
         csConnectionRequest.setURLQueries(urlQueries);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callBack);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callBack,
+                stackInstance.config.executor, entryInstance.deadline);
     }
 
     protected CSBackgroundTask(AssetLibrary assetLibrary, Stack stackInstance, String controller, String url,
@@ -52,7 +83,8 @@ class CSBackgroundTask {
         String completeUrl = stackInstance.config.getEndpoint() + url;
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(assetLibrary);
         csConnectionRequest.setURLQueries(urlQueries);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callback);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback,
+                stackInstance.config.executor, assetLibrary.deadline);
 
     }
 
@@ -63,7 +95,8 @@ class CSBackgroundTask {
         String completeUrl = stackInstance.config.getEndpoint() + url;
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(asset);
         csConnectionRequest.setURLQueries(urlQueries);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callback);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback,
+                stackInstance.config.executor, asset.deadline);
     }
 
     protected CSBackgroundTask(ContentType contentType, Stack stackInstance, String controller, String url,
@@ -73,7 +106,56 @@ class CSBackgroundTask {
         String completeUrl = stackInstance.config.getEndpoint() + url;
         CSConnectionRequest csConnectionRequest = new CSConnectionRequest(contentType);
         csConnectionRequest.setURLQueries(urlParams);
-        csConnectionRequest.setParams(completeUrl, headers, controller, requestInfo, callback);
+        execute(stackInstance, csConnectionRequest, completeUrl, headers, controller, requestInfo, callback,
+                stackInstance.config.executor, null);
+    }
+
+    private void execute(Stack stackInstance, CSConnectionRequest csConnectionRequest, String completeUrl,
+            HashMap<String, Object> headers, String controller, String requestInfo, ResultCallBack callback,
+            Executor executor, Deadline deadline) {
+        // requests without a deadline of their own get the one of the scope they were started in
+        csConnectionRequest.setDeadline(deadline != null ? deadline : Deadline.current());
+        csConnectionRequest.setCallbackExecutor(stackInstance.config.callbackExecutor);
+        csConnectionRequest.setJSONCodec(stackInstance.config.jsonCodec);
+        csConnectionRequest.setResponseCache(stackInstance.config.responseCache);
+        csConnectionRequest.setRetryPolicy(stackInstance.config.retryPolicy);
+        csConnectionRequest.setRateLimiter(stackInstance.config.rateLimiter);
+        csConnectionRequest.setCircuitBreaker(stackInstance.config.circuitBreaker);
+        csConnectionRequest.setHedgingPolicy(stackInstance.config.hedgingPolicy);
+        // live preview requests go to the preview host only
+        if (!stackInstance.config.enableLivePreview) {
+            csConnectionRequest.setEndpointSelector(stackInstance.config.endpointSelector);
+            csConnectionRequest.setLocalReplica(stackInstance.config.localReplica);
+        }
+        if (stackInstance.config.circuitBreaker != null || stackInstance.config.hedgingPolicy != null) {
+            csConnectionRequest.setBackgroundExecutor(stackInstance.backgroundExecutor());
+        }
+        if (stackInstance.config.coalesceRequests) {
+            csConnectionRequest.setInFlightRequests(stackInstance.inFlightRequests);
+        }
+        // the request is sent with a snapshot of the headers and the URL taken on the
+        // calling thread, later changes of the caller can't reach it
+        LinkedHashMap<String, Object> requestHeaders;
+        synchronized (headers) {
+            requestHeaders = new LinkedHashMap<>(headers);
+        }
+        requestHeaders.put(Constants.X_USER_AGENT, Constants.CLIENT_USER_AGENT);
+        requestHeaders.put(Constants.CONTENT_TYPE, Constants.APPLICATION_JSON);
+        CSHttpConnection connection = csConnectionRequest.prepare(completeUrl, requestHeaders, controller,
+                requestInfo, callback);
+        if (executor == null) {
+            connection.send();
+            return;
+        }
+        try {
+            executor.execute(connection::send);
+        } catch (RejectedExecutionException e) {
+            if (callback != null) {
+                Error error = new Error();
+                error.setErrorMessage(e.getLocalizedMessage());
+                callback.onRequestFail(ResponseType.UNKNOWN, error);
+            }
+        }
     }
 
     protected void checkHeader(@NotNull Map<String, Object> headers) {
@@ -5,12 +5,15 @@ import org.json.JSONObject;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.contentstack.sdk.Constants.*;
 
 class CSConnectionRequest implements IRequestModelHTTP {
 
     protected String endpoint;
+    protected APIService service;
     private String urlToCall;
     private String controller;
     private String requestInfo;
@@ -18,7 +21,21 @@ class CSConnectionRequest implements IRequestModelHTTP {
     private HashMap<String, Object> urlQueries;
     private ResultCallBack resultCallBack;
     private INotifyClass notifyClass;
+    private Query queryInstance;
     private AssetLibrary assetLibrary;
+    private Executor callbackExecutor;
+    private JSONCodec codec;
+    private ResponseCache responseCache;
+    private SingleFlight<CSHttpConnection.Outcome> inFlightRequests;
+    private RetryPolicy retryPolicy;
+    private RateLimiter rateLimiter;
+    private CircuitBreaker circuitBreaker;
+    private HedgingPolicy hedgingPolicy;
+    private Executor backgroundExecutor;
+    private EndpointSelector endpointSelector;
+    private LocalReplica localReplica;
+    private Deadline deadline;
+    private boolean delivered;
 
     private Entry entryInstance;
     private Asset assetInstance;
@@ -26,30 +43,37 @@ class CSConnectionRequest implements IRequestModelHTTP {
 
     public CSConnectionRequest(Query queryInstance) {
         notifyClass = queryInstance;
+        this.queryInstance = queryInstance;
         this.endpoint = queryInstance.contentTypeInstance.stackInstance.config.getEndpoint();
+        this.service = queryInstance.contentTypeInstance.stackInstance.service;
     }
 
     public CSConnectionRequest(Entry entryInstance) {
         this.entryInstance = entryInstance;
         this.endpoint = this.entryInstance.contentType.stackInstance.config.getEndpoint();
+        this.service = this.entryInstance.contentType.stackInstance.service;
     }
 
     public CSConnectionRequest(AssetLibrary assetLibrary) {
         this.assetLibrary = assetLibrary;
         this.endpoint = this.assetLibrary.stackInstance.config.getEndpoint();
+        this.service = this.assetLibrary.stackInstance.service;
     }
 
     public CSConnectionRequest(Asset asset) {
         this.assetInstance = asset;
         this.endpoint = this.assetInstance.stackInstance.config.getEndpoint();
+        this.service = this.assetInstance.stackInstance.service;
     }
 
     public CSConnectionRequest(Stack stack) {
         this.stackInstance = stack;
+        this.service = stack.service;
     }
 
     public CSConnectionRequest(ContentType contentType) {
         this.endpoint = contentType.stackInstance.config.getEndpoint();
+        this.service = contentType.stackInstance.service;
     }
 
     public void setQueryInstance(Query queryInstance) {
@@ -65,6 +89,55 @@ class CSConnectionRequest implements IRequestModelHTTP {
         this.stackInstance = stackInstance;
     }
 
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public void setJSONCodec(JSONCodec codec) {
+        this.codec = codec;
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public void setInFlightRequests(SingleFlight<CSHttpConnection.Outcome> inFlightRequests) {
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    public void setEndpointSelector(EndpointSelector endpointSelector) {
+        this.endpointSelector = endpointSelector;
+    }
+
+    public void setLocalReplica(LocalReplica localReplica) {
+        this.localReplica = localReplica;
+    }
+
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    // runs the work of a request that nobody waits for, like probes and hedges
+    public void setBackgroundExecutor(Executor backgroundExecutor) {
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
     public void setParams(Object... objects) {
         this.urlToCall = (String) objects[0];
         this.header = (LinkedHashMap<String, Object>) objects[1];
@@ -76,18 +149,51 @@ class CSConnectionRequest implements IRequestModelHTTP {
         sendRequest();
     }
 
+    /**
+     * Sets the parameters like {@link #setParams(Object...)} and builds the
+     * connection without sending it, its URL is built right away.
+     */
+    CSHttpConnection prepare(String urlToCall, LinkedHashMap<String, Object> header, String controller,
+            String requestInfo, ResultCallBack callback) {
+        this.urlToCall = urlToCall;
+        this.header = header;
+        this.controller = controller;
+        this.requestInfo = requestInfo;
+        if (callback != null) {
+            resultCallBack = callback;
+        }
+        return connection();
+    }
+
     @Override
     public void sendRequest() {
+        connection().send();
+    }
+
+    private CSHttpConnection connection() {
         CSHttpConnection connection = new CSHttpConnection(urlToCall, this);
         connection.setController(controller);
         connection.setHeaders(header);
         connection.setInfo(requestInfo);
         connection.setEndpoint(this.endpoint);
+        connection.setAPIService(this.service);
+        connection.setJSONCodec(this.codec);
+        connection.setResponseCache(this.responseCache);
+        connection.setInFlightRequests(this.inFlightRequests);
+        connection.setRetryPolicy(this.retryPolicy);
+        connection.setRateLimiter(this.rateLimiter);
+        connection.setCircuitBreaker(this.circuitBreaker);
+        connection.setHedgingPolicy(this.hedgingPolicy);
+        connection.setBackgroundExecutor(this.backgroundExecutor);
+        connection.setEndpointSelector(this.endpointSelector);
+        connection.setLocalReplica(this.localReplica);
+        connection.setDeadline(this.deadline);
         connection.setCallBackObject(resultCallBack);
         if (urlQueries != null && urlQueries.size() > 0) {
             connection.setFormParams(urlQueries);
         }
-        connection.send();
+        connection.prepare();
+        return connection;
     }
 
     @Override
@@ -106,19 +212,39 @@ class CSConnectionRequest implements IRequestModelHTTP {
             errResp.setErrorDetail(errorDetail);
         }
         if (this.resultCallBack != null) {
-            this.resultCallBack.onRequestFail(ResponseType.NETWORK, errResp);
+            deliver(() -> this.resultCallBack.onRequestFail(ResponseType.NETWORK, errResp));
         }
     }
 
     @Override
     public void onRequestFinished(CSHttpConnection request) {
+        try {
+            finish(request);
+        } catch (RuntimeException e) {
+            if (delivered) {
+                throw e;
+            }
+            // the response could not be turned into results, the callback still completes
+            JSONObject error = new JSONObject();
+            error.put(ERROR_MESSAGE, e.getLocalizedMessage() != null ? e.getLocalizedMessage() : e.toString());
+            error.put(ERROR_CODE, 0);
+            error.put(ERRORS, e.getClass().getName());
+            onRequestFailed(error, 0, request.getCallBackObject());
+        }
+    }
+
+    private void finish(CSHttpConnection request) {
         JSONObject jsonResponse = request.getResponse();
+        ResultCallBack callBackObject = request.getCallBackObject();
+        ResponseType responseType = request.getResponseType();
         if (request.getController().equalsIgnoreCase(Constants.QUERYOBJECT)) {
-            EntriesModel model = new EntriesModel(jsonResponse);
-            notifyClass.getResultObject(model.objectList, jsonResponse, false);
+            EntriesModel model = entriesModel(request);
+            deliver(() -> queryInstance.getResultObject(model.objectList, jsonResponse, false, callBackObject,
+                    responseType));
         } else if (request.getController().equalsIgnoreCase(Constants.SINGLEQUERYOBJECT)) {
-            EntriesModel model = new EntriesModel(jsonResponse);
-            notifyClass.getResultObject(model.objectList, jsonResponse, true);
+            EntriesModel model = entriesModel(request);
+            deliver(() -> queryInstance.getResultObject(model.objectList, jsonResponse, true, callBackObject,
+                    responseType));
         } else if (request.getController().equalsIgnoreCase(Constants.FETCHENTRY)) {
             EntryModel model = new EntryModel(jsonResponse);
             entryInstance.resultJson = model.jsonObject;
@@ -127,13 +253,13 @@ class CSConnectionRequest implements IRequestModelHTTP {
             entryInstance.language = model.language;
             entryInstance.uid = model.uid;
             entryInstance.setTags(model.tags);
-            if (request.getCallBackObject() != null) {
-                ((EntryResultCallBack) request.getCallBackObject()).onRequestFinish(ResponseType.NETWORK);
+            if (callBackObject != null) {
+                deliver(() -> ((EntryResultCallBack) callBackObject).onRequestFinish(responseType));
             }
         } else if (request.getController().equalsIgnoreCase(Constants.FETCHALLASSETS)) {
             AssetsModel assetsModel = new AssetsModel(jsonResponse);
             List<Object> objectList = assetsModel.objects;
-            assetLibrary.getResultObject(objectList, jsonResponse, false);
+            deliver(() -> assetLibrary.getResultObject(objectList, jsonResponse, false, responseType));
         } else if (request.getController().equalsIgnoreCase(Constants.FETCHASSETS)) {
             AssetModel model = new AssetModel(jsonResponse, false);
             assetInstance.contentType = model.contentType;
@@ -143,22 +269,41 @@ class CSConnectionRequest implements IRequestModelHTTP {
             assetInstance.json = model.json;
             assetInstance.assetUid = model.uploadedUid;
             assetInstance.setTags(model.tags);
-            if (request.getCallBackObject() != null) {
-                ((FetchResultCallback) request.getCallBackObject()).onRequestFinish(ResponseType.NETWORK);
+            if (callBackObject != null) {
+                deliver(() -> ((FetchResultCallback) callBackObject).onRequestFinish(responseType));
             }
         } else if (request.getController().equalsIgnoreCase(Constants.FETCHSYNC)) {
             SyncStack model = new SyncStack();
             model.setJSON(jsonResponse);
-            if (request.getCallBackObject() != null) {
-                ((SyncResultCallBack) request.getCallBackObject()).onRequestFinish(model);
+            if (callBackObject != null) {
+                deliver(() -> ((SyncResultCallBack) callBackObject).onRequestFinish(model));
             }
         } else if (request.getController().equalsIgnoreCase(Constants.FETCHCONTENTTYPES)) {
             ContentTypesModel model = new ContentTypesModel();
             model.setJSON(jsonResponse);
-            if (request.getCallBackObject() != null) {
-                ((ContentTypesCallback) request.getCallBackObject()).onRequestFinish(model);
+            if (callBackObject != null) {
+                deliver(() -> ((ContentTypesCallback) callBackObject).onRequestFinish(model));
+            }
+        }
+    }
+
+    private EntriesModel entriesModel(CSHttpConnection request) {
+        EntriesModel model = request.getEntriesModel();
+        return model != null ? model : new EntriesModel(request.getResponse());
+    }
+
+    // Parsing stays on the request thread, only the callback moves to the callback executor.
+    private void deliver(Runnable delivery) {
+        delivered = true;
+        if (callbackExecutor != null) {
+            try {
+                callbackExecutor.execute(delivery);
+                return;
+            } catch (RejectedExecutionException e) {
+                // the callback executor was shut down, the callback still completes on this thread
             }
         }
+        delivery.run();
     }
 
 }
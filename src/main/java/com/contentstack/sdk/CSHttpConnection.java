@@ -1,21 +1,33 @@
 package com.contentstack.sdk;
 
+import okhttp3.HttpUrl;
 import okhttp3.ResponseBody;
 import org.jetbrains.annotations.NotNull;
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import retrofit2.Call;
 import retrofit2.Response;
-import retrofit2.Retrofit;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 import static com.contentstack.sdk.Constants.*;
@@ -23,16 +35,32 @@ import static com.contentstack.sdk.Constants.*;
 public class CSHttpConnection implements IURLRequestHTTP {
 
     protected static final Logger logger = Logger.getLogger(CSHttpConnection.class.getName());
+    private static final RetryPolicy DEFAULT_RETRY_POLICY = new RetryPolicy();
     private final String urlPath;
     private final IRequestModelHTTP connectionRequest;
     private String controller;
     private LinkedHashMap<String, Object> headers;
     private String info;
     private String endpoint;
+    private APIService service;
+    private JSONCodec codec;
     private ResultCallBack callBackObject;
     private JSONObject responseJSON;
+    private EntriesModel entriesModel;
     private HashMap<String, Object> formParams;
-    private final String utfType = String.valueOf(StandardCharsets.UTF_8);
+    private String requestUrl;
+    private ResponseCache responseCache;
+    private SingleFlight<Outcome> inFlightRequests;
+    private RetryPolicy retryPolicy;
+    private RateLimiter rateLimiter;
+    private CircuitBreaker circuitBreaker;
+    private HedgingPolicy hedgingPolicy;
+    private Executor backgroundExecutor;
+    private EndpointSelector endpointSelector;
+    private LocalReplica localReplica;
+    private Deadline deadline;
+    private ResponseType responseType = ResponseType.NETWORK;
+    private boolean completed;
 
     public CSHttpConnection(String urlToCall, IRequestModelHTTP csConnectionRequest) {
         this.urlPath = urlToCall;
@@ -90,126 +118,616 @@ public class CSHttpConnection implements IURLRequestHTTP {
 
     public String setFormParamsGET(HashMap<String, Object> params) {
         if (params != null && params.size() > 0) {
-            String urlParams = null;
-            urlParams = info.equalsIgnoreCase(Constants.REQUEST_CONTROLLER.QUERY.name())
-                    || info.equalsIgnoreCase(Constants.REQUEST_CONTROLLER.ENTRY.name()) ? getParams(params) : null;
-            if (urlParams == null) {
-                for (Map.Entry<String, Object> e : params.entrySet()) {
-                    if (urlParams == null) {
-                        urlParams = "?" + e.getKey() + "=" + e.getValue();
-                    } else {
-                        urlParams += "&" + e.getKey() + "=" + e.getValue();
+            return URLBuilder.build("", params);
+        }
+        return null;
+    }
+
+    /**
+     * Builds the URL of the request from the path and the form params. Sending
+     * builds it when it has not been prepared before.
+     */
+    protected void prepare() {
+        requestUrl = URLBuilder.build(urlPath, formParams);
+    }
+
+    @Override
+    public void send() {
+        if (requestUrl == null) {
+            prepare();
+        }
+        try {
+            if (answerFromReplica()) {
+                return;
+            }
+            getService(requestUrl);
+        } catch (IOException | RuntimeException e) {
+            logger.severe(e.getLocalizedMessage());
+            // the callback always completes, unless it is the callback itself that threw
+            if (!completed) {
+                setError(e);
+            }
+        }
+    }
+
+    private boolean answerFromReplica() {
+        if (localReplica == null || headers.containsKey("live_preview")) {
+            return false;
+        }
+        JSONObject answer = localReplica.answer(controller, urlPath, formParams, headers);
+        if (answer == null) {
+            return false;
+        }
+        responseType = ResponseType.CACHE;
+        responseJSON = answer;
+        completed = true;
+        connectionRequest.onRequestFinished(CSHttpConnection.this);
+        return true;
+    }
+
+    private void probe(String requestUrl, String key, ResponseCache.CachedResponse cached) {
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    fetch(requestUrl, key, cached, true);
+                } catch (IOException | RuntimeException e) {
+                    logger.info("Probe of " + host(requestUrl) + " failed: " + e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.onAbandoned(host(requestUrl));
+        }
+    }
+
+    // sends the request, probe is true when the caller already holds the probe of an open circuit
+    private Response<ResponseBody> execute(String requestUrl, LinkedHashMap<String, Object> requestHeaders,
+            boolean probe) throws IOException {
+        String host = circuitBreaker != null ? host(requestUrl) : null;
+        // a probe refreshes the cache for everyone, the deadline of the request that started it does not apply
+        Deadline deadline = probe ? null : this.deadline;
+        for (int attempt = 1;; attempt++) {
+            Response<ResponseBody> response;
+            boolean probing = probe && attempt == 1;
+            if (host != null && !probing) {
+                if (!circuitBreaker.allowRequest(host)) {
+                    throw new IOException("Circuit breaker open for " + host);
+                }
+                probing = circuitBreaker.isOpen(host);
+            }
+            try {
+                checkDeadline(deadline);
+                long remaining = remaining(deadline);
+                if (rateLimiter != null && !rateLimiter.acquire(remaining)) {
+                    if (remaining < rateLimiter.maxWait()) {
+                        throw deadlineExceeded();
                     }
+                    throw new IOException("Rate limit exceeded, no permit within the maximum wait");
                 }
+            } catch (IOException | RuntimeException e) {
+                if (probing) {
+                    circuitBreaker.onAbandoned(host);
+                }
+                throw e;
             }
-            return urlParams;
+            try {
+                response = sendToEndpoints(requestUrl, requestHeaders, deadline);
+            } catch (RuntimeException e) {
+                // the request could not be sent, like a malformed URL, the host is not to blame
+                if (probing) {
+                    circuitBreaker.onAbandoned(host);
+                }
+                throw e;
+            } catch (IOException e) {
+                // running out of time is not the fault of the host, a slow host under tight deadlines stays closed
+                if (outOfTime(deadline)) {
+                    if (probing) {
+                        circuitBreaker.onAbandoned(host);
+                    }
+                    throw e;
+                }
+                if (host != null) {
+                    circuitBreaker.onFailure(host);
+                }
+                if (retryPolicy == null || !retryPolicy.canRetry(attempt)) {
+                    throw e;
+                }
+                logger.info("Retrying " + requestUrl + " after " + e);
+                backOff(retryPolicy.delay(attempt, null), deadline);
+                continue;
+            }
+            if (host != null && response.code() >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                circuitBreaker.onFailure(host);
+            } else if (host != null) {
+                circuitBreaker.onSuccess(host);
+            }
+            if (retryPolicy == null || !retryPolicy.canRetry(attempt) || !retryPolicy.isRetryable(response.code())) {
+                return response;
+            }
+            logger.info("Retrying " + requestUrl + " after status " + response.code());
+            if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+            backOff(retryPolicy.delay(attempt, response.headers().get(RETRY_AFTER)), deadline);
         }
-        return null;
     }
 
-    private String getParams(HashMap<String, Object> params) {
-        String urlParams = "?";
-        for (Map.Entry<String, Object> e : params.entrySet()) {
-            String key = e.getKey();
-            Object value = e.getValue();
+    // sends the request to the best endpoint, failing over to the next one on an I/O error or a 5xx
+    private Response<ResponseBody> sendToEndpoints(String requestUrl, LinkedHashMap<String, Object> requestHeaders,
+            Deadline deadline) throws IOException {
+        String primary = endpointSelector != null ? host(requestUrl) : null;
+        if (primary == null || !requestUrl.startsWith(primary)) {
+            return send(service.getRequest(requestUrl, requestHeaders), deadline);
+        }
+        String path = requestUrl.substring(primary.length());
+        List<String> endpoints = endpointSelector.rank(primary);
+        for (int i = 0;; i++) {
+            String endpoint = endpoints.get(i);
+            boolean last = i == endpoints.size() - 1;
+            long start = System.nanoTime();
+            Response<ResponseBody> response;
             try {
-                if (key.equalsIgnoreCase("include[]") || key.equalsIgnoreCase("only[BASE][]")
-                        || key.equalsIgnoreCase("except[BASE][]")) {
-                    urlParams = convertUrlParam(urlParams, value, key);
-                } else if (key.equalsIgnoreCase("only")) {
-                    JSONObject onlyJSON = (JSONObject) value;
-                    Iterator<String> itrString = onlyJSON.keys();
-                    while (itrString.hasNext()) {
-                        String innerKey = itrString.next();
-                        JSONArray array = onlyJSON.optJSONArray(innerKey);
-                        innerKey = URLEncoder.encode("only[" + innerKey + "][]", utfType);
-                        for (int i = 0; i < array.length(); i++) {
-                            urlParams += urlParams.equals("?") ? innerKey + "=" + array.opt(i)
-                                    : "&" + innerKey + "=" + array.opt(i);
-                        }
-                    }
-                } else if (key.equalsIgnoreCase("except")) {
-                    JSONObject onlyJSON = (JSONObject) value;
-                    Iterator<String> iter = onlyJSON.keys();
-                    while (iter.hasNext()) {
-                        String innerKey = iter.next();
-                        JSONArray array = onlyJSON.optJSONArray(innerKey);
-                        innerKey = URLEncoder.encode("except[" + innerKey + "][]", utfType);
-                        for (int i = 0; i < array.length(); i++) {
-                            urlParams += urlParams.equals("?") ? innerKey + "=" + array.opt(i)
-                                    : "&" + innerKey + "=" + array.opt(i);
+                response = send(service.getRequest(endpoint + path, requestHeaders), deadline);
+            } catch (IOException e) {
+                // running out of time is not the fault of the endpoint
+                if (outOfTime(deadline)) {
+                    throw e;
+                }
+                endpointSelector.onFailure(endpoint);
+                if (last) {
+                    throw e;
+                }
+                logger.info("Failing over from " + endpoint + " after " + e);
+                continue;
+            }
+            if (response.code() < HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                endpointSelector.onSuccess(endpoint, System.nanoTime() - start);
+                return response;
+            }
+            endpointSelector.onFailure(endpoint);
+            if (last) {
+                return response;
+            }
+            logger.info("Failing over from " + endpoint + " after status " + response.code());
+            if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+        }
+    }
+
+    private Response<ResponseBody> send(Call<ResponseBody> call, Deadline deadline) throws IOException {
+        withDeadline(call, deadline);
+        long delay = hedgingPolicy != null && backgroundExecutor != null ? hedgingPolicy.delay() : -1;
+        if (delay < 0) {
+            long start = System.nanoTime();
+            Response<ResponseBody> response = call.execute();
+            if (hedgingPolicy != null) {
+                hedgingPolicy.record(System.nanoTime() - start);
+            }
+            return response;
+        }
+        return sendHedged(call, delay, deadline);
+    }
+
+    // the request runs on the calling thread, a hedge is sent on the background executor
+    // when it takes longer than the delay, the first answer wins and the other call is cancelled
+    private Response<ResponseBody> sendHedged(Call<ResponseBody> primary, long delay, Deadline deadline)
+            throws IOException {
+        CompletableFuture<Response<ResponseBody>> first = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<Call<ResponseBody>> hedgeCall = new AtomicReference<>();
+        long start = System.nanoTime();
+        ScheduledFuture<?> timer = HedgingPolicy.schedule(() -> {
+            if (first.isDone()) {
+                return;
+            }
+            Call<ResponseBody> hedge;
+            try {
+                hedge = withDeadline(primary.clone(), deadline);
+            } catch (InterruptedIOException e) {
+                // the deadline expired, the primary fails on it and no hedge budget nor permit is taken
+                return;
+            }
+            if (!hedgingPolicy.tryHedge() || (rateLimiter != null && !rateLimiter.tryAcquire())) {
+                return;
+            }
+            hedgeCall.set(hedge);
+            pending.incrementAndGet();
+            try {
+                backgroundExecutor.execute(() -> {
+                    try {
+                        Response<ResponseBody> response = hedge.execute();
+                        if (answer(first, pending, response)) {
+                            // the latency the caller saw, the primary is cancelled and never reports its own;
+                            // it is above the delay like the one of the primary, see HedgingPolicy
+                            hedgingPolicy.record(System.nanoTime() - start);
+                            hedgingPolicy.onHedgeWin();
+                            primary.cancel();
                         }
+                    } catch (IOException e) {
+                        fail(first, pending, e);
                     }
-                } else if (key.equalsIgnoreCase("query")) {
-                    JSONObject queryJSON = (JSONObject) value;
-                    urlParams += urlParams.equals("?") ? key + "=" + URLEncoder.encode(queryJSON.toString(), utfType)
-                            : "&" + key + "=" + URLEncoder.encode(queryJSON.toString(), utfType);
-                } else {
-                    urlParams += urlParams.equals("?") ? key + "=" + value : "&" + key + "=" + value;
+                });
+            } catch (RejectedExecutionException e) {
+                fail(first, pending, new IOException(e));
+            }
+        }, delay);
+        try {
+            Response<ResponseBody> response = primary.execute();
+            if (answer(first, pending, response)) {
+                hedgingPolicy.record(System.nanoTime() - start);
+                Call<ResponseBody> hedge = hedgeCall.get();
+                if (hedge != null) {
+                    hedge.cancel();
                 }
-            } catch (Exception e1) {
-                e1.printStackTrace();
             }
+        } catch (IOException e) {
+            // also thrown when the hedge won and cancelled this call
+            fail(first, pending, e);
+        } finally {
+            timer.cancel(false);
+        }
+        try {
+            return first.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Call<ResponseBody> hedge = hedgeCall.get();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            throw new InterruptedIOException("Interrupted while waiting for the hedged request");
         }
-        return urlParams;
     }
 
-    private String convertUrlParam(String urlParams, Object value, String key) throws UnsupportedEncodingException {
-        key = URLEncoder.encode(key, utfType);
-        JSONArray array = (JSONArray) value;
-        for (int i = 0; i < array.length(); i++) {
-            urlParams += urlParams.equals("?") ? key + "=" + array.opt(i) : "&" + key + "=" + array.opt(i);
+    // a retryable error, like a 503 or a 429, is a failed call while the other call can still answer,
+    // it only answers when it is the last call left
+    private boolean answer(CompletableFuture<Response<ResponseBody>> first, AtomicInteger pending,
+            Response<ResponseBody> response) {
+        if (!response.isSuccessful() && isRetryable(response.code()) && pending.decrementAndGet() > 0) {
+            close(response);
+            return false;
+        }
+        if (first.complete(response)) {
+            return true;
         }
-        return urlParams;
+        // the other call answered first
+        close(response);
+        return false;
     }
 
-    @Override
-    public void send() {
+    // the status codes of the retry policy, or its default ones without a policy
+    private boolean isRetryable(int statusCode) {
+        return (retryPolicy != null ? retryPolicy : DEFAULT_RETRY_POLICY).isRetryable(statusCode);
+    }
 
-        String url = "";
-        String params = setFormParamsGET(formParams);
-        if (params != null) {
-            url = urlPath + params;
-        } else {
-            url = urlPath;
+    private static void close(Response<ResponseBody> response) {
+        if (response.body() != null) {
+            response.body().close();
+        } else if (response.errorBody() != null) {
+            response.errorBody().close();
         }
+    }
+
+    // the request fails once none of its calls can answer anymore
+    private static void fail(CompletableFuture<Response<ResponseBody>> first, AtomicInteger pending, IOException e) {
+        if (pending.decrementAndGet() == 0) {
+            first.completeExceptionally(e);
+        }
+    }
+
+    // the call is cancelled when the deadline expires, wherever it is; a deadline that
+    // expired before the call was sent fails it right away, okio takes no deadline of 0
+    private static Call<ResponseBody> withDeadline(Call<ResponseBody> call, Deadline deadline)
+            throws InterruptedIOException {
+        if (deadline != null) {
+            long remaining = deadline.remainingNanos();
+            if (remaining <= 0) {
+                throw deadlineExceeded();
+            }
+            call.timeout().deadline(remaining, TimeUnit.NANOSECONDS);
+        }
+        return call;
+    }
+
+    // the time left before the deadline in nanoseconds, Long.MAX_VALUE without deadline
+    private static long remaining(Deadline deadline) {
+        return deadline != null ? deadline.remainingNanos() : Long.MAX_VALUE;
+    }
+
+    // true when the request failed because it ran out of time or its thread was interrupted
+    private static boolean outOfTime(Deadline deadline) {
+        return Thread.currentThread().isInterrupted() || (deadline != null && deadline.isExpired());
+    }
+
+    private static void checkDeadline(Deadline deadline) throws InterruptedIOException {
+        if (deadline != null && deadline.isExpired()) {
+            throw deadlineExceeded();
+        }
+    }
 
+    private static InterruptedIOException deadlineExceeded() {
+        return new InterruptedIOException(DEADLINE_EXCEEDED);
+    }
+
+    // a retry that could not be sent before the deadline fails right away instead of sleeping
+    private static void backOff(long delay, Deadline deadline) throws InterruptedIOException {
+        if (delay >= remaining(deadline)) {
+            throw deadlineExceeded();
+        }
         try {
-            getService(url);
-        } catch (IOException | JSONException e) {
-            logger.severe(e.getLocalizedMessage());
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
         }
     }
 
     private void getService(String requestUrl) throws IOException {
-        Retrofit retrofit = new Retrofit.Builder().baseUrl(this.endpoint).build();
-        APIService service = retrofit.create(APIService.class);
-        this.headers.put(X_USER_AGENT, CLIENT_USER_AGENT);
-        this.headers.put(CONTENT_TYPE, APPLICATION_JSON);
-        Response<ResponseBody> response = service.getRequest(requestUrl, this.headers).execute();
+        String key = requestKey(requestUrl);
+        if (key == null) {
+            getServiceStreaming(requestUrl);
+            return;
+        }
+        ResponseCache.CachedResponse cached = responseCache != null ? responseCache.lookup(key) : null;
+        if (cached != null && cached.isFresh()) {
+            finish(ResponseType.CACHE, cached.body);
+            return;
+        }
+        if (cached != null && circuitBreaker != null && circuitBreaker.isOpen(host(requestUrl))) {
+            // the host keeps failing, answer with the stale response right away and
+            // let a single request at a time find out in the background whether it recovered
+            if (backgroundExecutor != null && circuitBreaker.allowRequest(host(requestUrl))) {
+                probe(requestUrl, key, cached);
+            }
+            finish(ResponseType.STALE, cached.body);
+            return;
+        }
+        checkDeadline(deadline);
+        // identical requests in flight share one round-trip, each of them decodes the body on its own
+        // and waits for it at most until its own deadline
+        Outcome outcome = inFlightRequests != null
+                ? inFlightRequests.execute(key, () -> fetchShared(requestUrl, key, cached), remaining(deadline))
+                : fetch(requestUrl, key, cached, false);
+        if (outcome.body != null) {
+            finish(outcome.responseType, outcome.body);
+        } else {
+            setError(outcome.error, outcome.statusCode);
+        }
+    }
+
+    private void getServiceStreaming(String requestUrl) throws IOException {
+        Response<ResponseBody> response = execute(requestUrl, this.headers, false);
         if (response.isSuccessful()) {
             assert response.body() != null;
-            String resp = response.body().string();
-            responseJSON = new JSONObject(resp);
+            // decode from the body stream, the response never exists as one String
+            try (ResponseBody body = response.body()) {
+                decode(body.charStream());
+            }
+            completed = true;
             connectionRequest.onRequestFinished(CSHttpConnection.this);
         } else {
             assert response.errorBody() != null;
-            setError(response.errorBody().string());
+            setError(response.errorBody().string(), response.code());
+        }
+    }
+
+    // the round-trip runs under the deadline of the request that started it, when it fails because
+    // that request ran out of time the requests waiting for it send it again under their own deadline
+    private Outcome fetchShared(String requestUrl, String key, ResponseCache.CachedResponse cached)
+            throws IOException {
+        try {
+            return fetch(requestUrl, key, cached, false);
+        } catch (IOException e) {
+            if (outOfTime(deadline)) {
+                throw new SingleFlight.Abandoned(e);
+            }
+            throw e;
+        }
+    }
+
+    private Outcome fetch(String requestUrl, String key, ResponseCache.CachedResponse cached, boolean probe)
+            throws IOException {
+        LinkedHashMap<String, Object> requestHeaders = this.headers;
+        if (cached != null) {
+            // the cached response expired, ask the server whether it changed
+            requestHeaders = new LinkedHashMap<>(this.headers);
+            if (cached.etag != null) {
+                requestHeaders.put(IF_NONE_MATCH, cached.etag);
+            }
+            if (cached.lastModified != null) {
+                requestHeaders.put(IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        Response<ResponseBody> response = execute(requestUrl, requestHeaders, probe);
+        if (cached != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+            responseCache.revalidated(key, contentTypeUid(), cached);
+            return new Outcome(ResponseType.CACHE, cached.body, response.code(), null);
+        } else if (response.isSuccessful()) {
+            assert response.body() != null;
+            byte[] bytes;
+            try (ResponseBody body = response.body()) {
+                bytes = body.bytes();
+            }
+            if (responseCache != null) {
+                responseCache.put(key, contentTypeUid(), bytes, response.headers().get(ETAG),
+                        response.headers().get(LAST_MODIFIED));
+            }
+            return new Outcome(ResponseType.NETWORK, bytes, response.code(), null);
+        } else {
+            assert response.errorBody() != null;
+            return new Outcome(ResponseType.NETWORK, null, response.code(), response.errorBody().string());
+        }
+    }
+
+    private void finish(ResponseType responseType, byte[] body) throws IOException {
+        this.responseType = responseType;
+        decode(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        completed = true;
+        connectionRequest.onRequestFinished(CSHttpConnection.this);
+    }
+
+    private void decode(Reader reader) throws IOException {
+        if (QUERYOBJECT.equalsIgnoreCase(controller) || SINGLEQUERYOBJECT.equalsIgnoreCase(controller)) {
+            entriesModel = new EntriesModel(codec, reader);
+            responseJSON = entriesModel.jsonObject;
+        } else {
+            responseJSON = codec.decode(reader);
+        }
+    }
+
+    // the key is the resolved URL and the headers the response depends on, like
+    // the environment and the branch, sync and live preview responses are never
+    // cached nor shared
+    private String requestKey(String requestUrl) {
+        if ((responseCache == null && inFlightRequests == null) || FETCHSYNC.equalsIgnoreCase(controller)
+                || headers.containsKey("live_preview")) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(requestUrl);
+        for (Map.Entry<String, Object> header : new TreeMap<>(headers).entrySet()) {
+            if (!X_USER_AGENT.equals(header.getKey()) && !CONTENT_TYPE.equals(header.getKey())) {
+                key.append('\n').append(header.getKey()).append('=').append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    // the scheme, host and port the circuit breaker tracks
+    static String host(String requestUrl) {
+        HttpUrl url = HttpUrl.parse(requestUrl);
+        if (url == null) {
+            return requestUrl;
         }
+        String host = url.scheme() + "://" + url.host();
+        return url.port() != HttpUrl.defaultPort(url.scheme()) ? host + ":" + url.port() : host;
+    }
 
+    private String contentTypeUid() {
+        int start = urlPath.indexOf("content_types/");
+        if (start < 0) {
+            return null;
+        }
+        start += "content_types/".length();
+        int end = start;
+        while (end < urlPath.length() && urlPath.charAt(end) != '/' && urlPath.charAt(end) != '?') {
+            end++;
+        }
+        return urlPath.substring(start, end);
     }
 
-    void setError(String errResp) {
+    void setError(String errResp, int statusCode) {
         logger.info(errResp);
-        responseJSON = new JSONObject(errResp); // Parse error string to JSONObject
+        try {
+            responseJSON = new JSONObject(errResp); // Parse error string to JSONObject
+        } catch (JSONException e) {
+            // not a Contentstack error, e.g. the page of a proxy
+            responseJSON = new JSONObject();
+            responseJSON.put(ERROR_MESSAGE, errResp);
+        }
+        // the error code of the body, or the HTTP status when the body has none
+        int errCode = responseJSON.optInt(ERROR_CODE, statusCode);
         responseJSON.put(ERROR_MESSAGE, responseJSON.optString(ERROR_MESSAGE));
-        responseJSON.put(ERROR_CODE, responseJSON.optString(ERROR_CODE));
+        responseJSON.put(ERROR_CODE, errCode);
         responseJSON.put(ERRORS, responseJSON.optString(ERRORS));
-        int errCode = Integer.parseInt(responseJSON.optString(ERROR_CODE));
+        completed = true;
+        connectionRequest.onRequestFailed(responseJSON, errCode, callBackObject);
+    }
+
+    // the request failed without a response, e.g. the connection timed out
+    private void setError(Exception e) {
+        String message = e.getLocalizedMessage() != null ? e.getLocalizedMessage() : e.toString();
+        int errCode = 0;
+        // a timeout, unless the thread was interrupted
+        if (e instanceof InterruptedIOException && !Thread.currentThread().isInterrupted()) {
+            errCode = HttpURLConnection.HTTP_CLIENT_TIMEOUT;
+            if (deadline != null && deadline.isExpired()) {
+                message = DEADLINE_EXCEEDED;
+            }
+        }
+        responseJSON = new JSONObject();
+        responseJSON.put(ERROR_MESSAGE, message);
+        responseJSON.put(ERROR_CODE, errCode);
+        responseJSON.put(ERRORS, e.getClass().getName());
+        completed = true;
         connectionRequest.onRequestFailed(responseJSON, errCode, callBackObject);
     }
 
+    ResponseType getResponseType() {
+        return responseType;
+    }
+
+    EntriesModel getEntriesModel() {
+        return entriesModel;
+    }
+
     protected void setEndpoint(@NotNull String endpoint) {
         this.endpoint = endpoint;
     }
+
+    protected void setAPIService(@NotNull APIService service) {
+        this.service = service;
+    }
+
+    protected void setJSONCodec(@NotNull JSONCodec codec) {
+        this.codec = codec;
+    }
+
+    protected void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    protected void setInFlightRequests(SingleFlight<Outcome> inFlightRequests) {
+        this.inFlightRequests = inFlightRequests;
+    }
+
+    protected void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    protected void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    protected void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    protected void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    protected void setBackgroundExecutor(Executor backgroundExecutor) {
+        this.backgroundExecutor = backgroundExecutor;
+    }
+
+    protected void setEndpointSelector(EndpointSelector endpointSelector) {
+        this.endpointSelector = endpointSelector;
+    }
+
+    protected void setLocalReplica(LocalReplica localReplica) {
+        this.localReplica = localReplica;
+    }
+
+    protected void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    // the body of a successful response or the error of a failed one, as received
+    static final class Outcome {
+        final ResponseType responseType;
+        final byte[] body;
+        final int statusCode;
+        final String error;
+
+        Outcome(ResponseType responseType, byte[] body, int statusCode, String error) {
+            this.responseType = responseType;
+            this.body = body;
+            this.statusCode = statusCode;
+            this.error = error;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops sending requests to a host that keeps failing. After
+ * {@code failureThreshold} consecutive failures, I/O errors or 5xx responses,
+ * the circuit of the host opens for {@code openDuration}. While it is open:
+ * <ul>
+ * <li>requests with a response in the {@link ResponseCache} get it right away,
+ * even when it expired, reported with {@link ResponseType#STALE};</li>
+ * <li>other requests fail right away instead of waiting for the host.</li>
+ * </ul>
+ * Once the open duration elapsed, one request at a time probes the host, in
+ * the background when a stale response was served. A successful probe closes
+ * the circuit and refreshes the cache, a failed one opens it again.
+ *
+ * <pre class="prettyprint">
+ * Config config = new Config()
+ *         .setResponseCache(new ResponseCache(32 * 1024 * 1024, 1, TimeUnit.MINUTES).setMaxStale(1, TimeUnit.DAYS))
+ *         .setCircuitBreaker(new CircuitBreaker(5, 30, TimeUnit.SECONDS));
+ * </pre>
+ */
+public class CircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openDuration;
+    private final Map<String, Circuit> circuits = new HashMap<>();
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param failureThreshold how many consecutive failures open the circuit of a
+     *                         host
+     * @param openDuration     how long the circuit stays open before a probe
+     * @param timeUnit         the unit of openDuration
+     */
+    public CircuitBreaker(int failureThreshold, long openDuration, @NotNull TimeUnit timeUnit) {
+        if (failureThreshold < 1 || openDuration < 0) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1 and openDuration not negative");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDuration = timeUnit.toNanos(openDuration);
+    }
+
+    /**
+     * Returns the hosts whose circuit is open, like
+     * {@code https://cdn.contentstack.io}
+     *
+     * @return the hosts
+     */
+    public synchronized Set<String> openHosts() {
+        Set<String> hosts = new LinkedHashSet<>();
+        for (Map.Entry<String, Circuit> circuit : circuits.entrySet()) {
+            if (circuit.getValue().open) {
+                hosts.add(circuit.getKey());
+            }
+        }
+        return hosts;
+    }
+
+    synchronized boolean isOpen(String host) {
+        Circuit circuit = circuits.get(host);
+        return circuit != null && circuit.open;
+    }
+
+    // true when a request can be sent, while the circuit is open only the probe can
+    synchronized boolean allowRequest(String host) {
+        Circuit circuit = circuits.get(host);
+        if (circuit == null || !circuit.open) {
+            return true;
+        }
+        if (circuit.probing || System.nanoTime() - circuit.openUntil < 0) {
+            return false;
+        }
+        circuit.probing = true;
+        return true;
+    }
+
+    // the probe gave up before reaching the host, another request can probe it
+    synchronized void onAbandoned(String host) {
+        Circuit circuit = circuits.get(host);
+        if (circuit != null) {
+            circuit.probing = false;
+        }
+    }
+
+    synchronized void onSuccess(String host) {
+        circuits.remove(host);
+    }
+
+    synchronized void onFailure(String host) {
+        Circuit circuit = circuits.computeIfAbsent(host, key -> new Circuit());
+        circuit.failures++;
+        if (circuit.probing || circuit.failures >= failureThreshold) {
+            circuit.open = true;
+            circuit.probing = false;
+            circuit.openUntil = System.nanoTime() + openDuration;
+        }
+    }
+
+    private static final class Circuit {
+        private int failures;
+        private boolean open;
+        private boolean probing;
+        private long openUntil;
+    }
+}
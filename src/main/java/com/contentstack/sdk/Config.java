@@ -1,14 +1,18 @@
 package com.contentstack.sdk;
 
+import okhttp3.ConnectionPool;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The type Config. enables optional parameters while passing from stack
  */
 public class Config {
 
-    protected String livePreviewHash = null;
-    protected String livePreviewContentType = null;
+    protected volatile String livePreviewHash = null;
+    protected volatile String livePreviewContentType = null;
     protected String host = "cdn.contentstack.io";
     protected String version = "v3";
     protected String scheme = "https://";
@@ -18,6 +22,21 @@ public class Config {
     protected ContentstackRegion region = ContentstackRegion.US;
     protected String managementToken;
     protected String branch;
+    protected ConnectionPool connectionPool = new ConnectionPool();
+    protected long connectTimeout = TimeUnit.SECONDS.toMillis(10);
+    protected long readTimeout = TimeUnit.SECONDS.toMillis(10);
+    protected long callTimeout = 0;
+    protected Executor executor;
+    protected Executor callbackExecutor;
+    protected JSONCodec jsonCodec = new OrgJSONCodec();
+    protected ResponseCache responseCache;
+    protected boolean coalesceRequests = false;
+    protected RetryPolicy retryPolicy;
+    protected RateLimiter rateLimiter;
+    protected CircuitBreaker circuitBreaker;
+    protected HedgingPolicy hedgingPolicy;
+    protected EndpointSelector endpointSelector;
+    protected LocalReplica localReplica;
 
     public String getBranch() {
         return branch;
@@ -118,6 +137,211 @@ public class Config {
         return this;
     }
 
+    /**
+     * Sets the connection pool of the HTTP client shared by every request of the
+     * stack. Idle connections (and their TLS sessions) are kept alive and reused
+     * until the keep-alive duration elapses.
+     *
+     * @param maxIdleConnections the maximum number of idle connections to keep
+     * @param keepAliveDuration  how long an idle connection is kept alive
+     * @param timeUnit           the unit of keepAliveDuration
+     * @return the config
+     */
+    public Config setConnectionPool(int maxIdleConnections, long keepAliveDuration, @NotNull TimeUnit timeUnit) {
+        this.connectionPool = new ConnectionPool(maxIdleConnections, keepAliveDuration, timeUnit);
+        return this;
+    }
+
+    /**
+     * Sets how long establishing a connection can take. Defaults to 10 seconds,
+     * 0 means no timeout.
+     *
+     * @param connectTimeout the connect timeout
+     * @param timeUnit       the unit of connectTimeout
+     * @return the config
+     */
+    public Config setConnectTimeout(long connectTimeout, @NotNull TimeUnit timeUnit) {
+        this.connectTimeout = timeUnit.toMillis(connectTimeout);
+        return this;
+    }
+
+    /**
+     * Sets how long the connection can stay silent while a response is read.
+     * Defaults to 10 seconds, 0 means no timeout.
+     *
+     * @param readTimeout the read timeout
+     * @param timeUnit    the unit of readTimeout
+     * @return the config
+     */
+    public Config setReadTimeout(long readTimeout, @NotNull TimeUnit timeUnit) {
+        this.readTimeout = timeUnit.toMillis(readTimeout);
+        return this;
+    }
+
+    /**
+     * Sets how long one HTTP call can take at most, from connecting to reading
+     * the whole response. Every attempt of a {@link RetryPolicy} gets the whole
+     * timeout, see {@link Deadline} to bound a request with its retries.
+     * Defaults to 0, no timeout.
+     *
+     * <pre class="prettyprint">
+     * Config config = new Config()
+     *         .setConnectTimeout(2, TimeUnit.SECONDS)
+     *         .setReadTimeout(5, TimeUnit.SECONDS)
+     *         .setCallTimeout(8, TimeUnit.SECONDS);
+     * </pre>
+     *
+     * @param callTimeout the call timeout
+     * @param timeUnit    the unit of callTimeout
+     * @return the config
+     */
+    public Config setCallTimeout(long callTimeout, @NotNull TimeUnit timeUnit) {
+        this.callTimeout = timeUnit.toMillis(callTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the executor on which requests are sent. When an executor is set, calls
+     * such as {@link Query#find(QueryResultsCallBack)} or
+     * {@link Entry#fetch(EntryResultCallBack)} return immediately and the network
+     * round-trip happens on the executor. Without an executor, requests run on the
+     * calling thread.
+     *
+     * @param executor the executor requests are sent on
+     * @return the config
+     */
+    public Config setExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the executor on which result callbacks are invoked. Without a callback
+     * executor, callbacks are invoked on the thread that completed the request.
+     *
+     * @param callbackExecutor the executor callbacks are invoked on
+     * @return the config
+     */
+    public Config setCallbackExecutor(@NotNull Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    /**
+     * Sets the codec decoding the responses of the stack. Defaults to
+     * {@link OrgJSONCodec}. {@link LazyJSONCodec} decodes the fields of queried
+     * entries only when they are read.
+     *
+     * @param jsonCodec the codec, e.g. {@link GsonJSONCodec}
+     * @return the config
+     */
+    public Config setJSONCodec(@NotNull JSONCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+        return this;
+    }
+
+    /**
+     * Sets the in-memory cache of the responses of the stack. Without a cache,
+     * every request goes to the network.
+     *
+     * @param responseCache the cache, see {@link ResponseCache}
+     * @return the config
+     */
+    public Config setResponseCache(@NotNull ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    /**
+     * Coalesces identical requests. While a request is in flight, identical
+     * requests of the stack, same URL and same headers, wait for its response
+     * instead of sending their own. Each of them still gets its own result
+     * objects. Sync and live preview requests are never coalesced.
+     *
+     * @param coalesceRequests true to coalesce identical requests
+     * @return the config
+     */
+    public Config setCoalesceRequests(boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+        return this;
+    }
+
+    /**
+     * Sets the policy retrying requests that failed with an I/O error, a rate
+     * limit or a transient server error. Without a retry policy, requests are
+     * sent once.
+     *
+     * @param retryPolicy the retry policy, see {@link RetryPolicy}
+     * @return the config
+     */
+    public Config setRetryPolicy(@NotNull RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the limiter of the rate of requests sent by the stack. The same
+     * limiter can be set on several configs to share the rate between stacks.
+     *
+     * @param rateLimiter the rate limiter, see {@link RateLimiter}
+     * @return the config
+     */
+    public Config setRateLimiter(@NotNull RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * Sets the circuit breaker of the stack. While the circuit of a failing host
+     * is open, requests are answered from the {@link ResponseCache}, or fail
+     * right away, instead of waiting for the host.
+     *
+     * @param circuitBreaker the circuit breaker, see {@link CircuitBreaker}
+     * @return the config
+     */
+    public Config setCircuitBreaker(@NotNull CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    /**
+     * Sets the hedging policy of the stack. Requests slower than most are sent a
+     * second time and the first response wins.
+     *
+     * @param hedgingPolicy the hedging policy, see {@link HedgingPolicy}
+     * @return the config
+     */
+    public Config setHedgingPolicy(@NotNull HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the endpoints the stack fails over to when its own endpoint can't be
+     * reached or answers with a server error. Requests go to the healthy
+     * endpoint with the lowest latency. Live preview requests never fail over.
+     *
+     * @param endpointSelector the endpoint selector, see {@link EndpointSelector}
+     * @return the config
+     */
+    public Config setEndpointSelector(@NotNull EndpointSelector endpointSelector) {
+        this.endpointSelector = endpointSelector;
+        return this;
+    }
+
+    /**
+     * Sets the local replica answering the requests of the stack from memory
+     * once it is synced. Requests it can't answer go over the network. Live
+     * preview requests always do.
+     *
+     * @param localReplica the replica, see {@link LocalReplica}
+     * @return the config
+     */
+    public Config setLocalReplica(@NotNull LocalReplica localReplica) {
+        this.localReplica = localReplica;
+        return this;
+    }
+
     /**
      * The enum Contentstack region. for now contentstack supports
      * [US, EU, AZURE_NA]
@@ -26,6 +26,13 @@ public class Constants {
     protected static final String X_USER_AGENT = "X-User-Agent";
     protected static final String CONTENT_TYPE = "Content-Type";
     protected static final String APPLICATION_JSON = "application/json";
+    // Revalidation
+    protected static final String ETAG = "ETag";
+    protected static final String LAST_MODIFIED = "Last-Modified";
+    protected static final String IF_NONE_MATCH = "If-None-Match";
+    protected static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    protected static final String RETRY_AFTER = "Retry-After";
+    protected static final String DEADLINE_EXCEEDED = "Deadline exceeded";
     protected static final String CLIENT_USER_AGENT = userAgent();
     // Query
     protected static final String QUERY = "query";
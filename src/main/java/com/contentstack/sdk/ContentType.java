@@ -6,6 +6,7 @@ import org.json.JSONObject;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 /**
@@ -28,29 +29,34 @@ public class ContentType {
 
     protected void setStackInstance(Stack stack) {
         this.stackInstance = stack;
-        this.headers = stack.headers;
+        this.headers = stack.copyHeaders();
     }
 
     /**
-     * Sets header on {@link Stack}.
+     * Sets header on the requests of this content type and of the entries and
+     * queries created from it afterwards.
      *
      * @param headerKey   the header key
      * @param headerValue the header value
      */
     public void setHeader(String headerKey, String headerValue) {
         if (!headerKey.isEmpty() && !headerValue.isEmpty()) {
-            this.headers.put(headerKey, headerValue);
+            synchronized (headers) {
+                this.headers.put(headerKey, headerValue);
+            }
         }
     }
 
     /**
-     * Remove header from {@link Stack}
+     * Remove header from this content type
      *
      * @param headerKey the header key
      */
     public void removeHeader(String headerKey) {
         if (!headerKey.isEmpty()) {
-            this.headers.remove(headerKey);
+            synchronized (headers) {
+                this.headers.remove(headerKey);
+            }
         }
     }
 
@@ -65,15 +71,14 @@ public class ContentType {
      */
     public Entry entry(String entryUid) {
         Entry entry = new Entry(contentTypeUid);
-        entry.setContentType(this, this.headers);
+        entry.setContentType(this, copyHeaders());
         entry.setUid(entryUid);
         return entry;
     }
 
     protected Entry entry() {
         Entry entry = new Entry(contentTypeUid);
-        entry.headers = this.headers;
-        entry.setContentType(this, this.headers);
+        entry.setContentType(this, copyHeaders());
         return entry;
     }
 
@@ -103,11 +108,18 @@ public class ContentType {
      */
     public Query query() {
         Query query = new Query(contentTypeUid);
-        query.headers = this.headers;
+        query.headers = copyHeaders();
         query.setContentTypeInstance(this);
         return query;
     }
 
+    // a content type may be shared by threads, every entry and query gets headers of its own
+    private LinkedHashMap<String, Object> copyHeaders() {
+        synchronized (headers) {
+            return new LinkedHashMap<>(headers);
+        }
+    }
+
     /**
      * Fetch.
      *
@@ -133,6 +145,26 @@ public class ContentType {
         fetchContentTypes(urlString, params, headers, callback);
     }
 
+    /**
+     * Fetches the content type like {@link #fetch(JSONObject, ContentTypesCallback)}
+     * and returns a future of the result instead of notifying a callback.
+     *
+     * @param params the params
+     * @return {@link CompletableFuture} of the {@link ContentTypesModel},
+     *         completed exceptionally with a {@link ContentstackException} when
+     *         the request fails.
+     */
+    public CompletableFuture<ContentTypesModel> fetchAsync(@NotNull JSONObject params) {
+        CompletableFuture<ContentTypesModel> future = new CompletableFuture<>();
+        fetch(params, new ContentTypesCallback() {
+            @Override
+            public void onCompletion(ContentTypesModel contentTypesModel, Error error) {
+                ContentstackException.complete(future, contentTypesModel, error);
+            }
+        });
+        return future;
+    }
+
     private void fetchContentTypes(String urlString, JSONObject params, HashMap<String, Object> headers,
             ContentTypesCallback callback) {
         if (callback != null) {
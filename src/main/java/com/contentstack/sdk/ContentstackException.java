@@ -0,0 +1,47 @@
+package com.contentstack.sdk;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The futures returned by the asynchronous API, like {@link Query#findAsync()}
+ * or {@link Entry#fetchAsync()}, complete exceptionally with a
+ * ContentstackException when the request fails. The exception carries the
+ * {@link Error} returned by Contentstack.
+ */
+public class ContentstackException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Error error;
+
+    public ContentstackException(Error error) {
+        super(error != null ? error.getErrorMessage() : null);
+        this.error = error;
+    }
+
+    /**
+     * Returns the error of the failed request
+     *
+     * @return {@link Error} <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         query.findAsync().exceptionally(throwable -&gt; {
+     *             Error error = ((ContentstackException) throwable.getCause()).getError();
+     *             return null;
+     *         });
+     *         </pre>
+     */
+    public Error getError() {
+        return error;
+    }
+
+    static <T> void complete(CompletableFuture<T> future, T result, Error error) {
+        if (error != null) {
+            future.completeExceptionally(new ContentstackException(error));
+        } else {
+            future.complete(result);
+        }
+    }
+}
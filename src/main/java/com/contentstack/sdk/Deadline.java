@@ -0,0 +1,90 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a request must complete. The same deadline can be
+ * given to several requests, like all the fetches of a page, to share a total
+ * budget between them. When the deadline expires the request is cancelled and
+ * its callback completes with an {@link Error} of code 408. Retries only get
+ * the time left.
+ *
+ * <pre class="prettyprint">
+ * Deadline deadline = Deadline.after(150, TimeUnit.MILLISECONDS);
+ * stack.contentType("header").query().setDeadline(deadline).find(headerCallback);
+ * stack.contentType("page").entry(uid).setDeadline(deadline).fetch(pageCallback);
+ * // requests without a deadline of their own, like sync, use the deadline of the scope
+ * deadline.run(() -&gt; stack.sync(syncCallback));
+ * </pre>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> scope = new ThreadLocal<>();
+
+    private final long deadline;
+
+    private Deadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns a deadline expiring after the given duration
+     *
+     * @param duration the duration from now
+     * @param timeUnit the unit of duration
+     * @return the deadline
+     */
+    public static Deadline after(long duration, @NotNull TimeUnit timeUnit) {
+        return new Deadline(System.nanoTime() + timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Returns the time left before the deadline expires, zero once it expired
+     *
+     * @param timeUnit the unit of the result
+     * @return the time left
+     */
+    public long remaining(@NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(remainingNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns whether the deadline expired
+     *
+     * @return true once the deadline expired
+     */
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+    /**
+     * Runs the task with this deadline as the deadline of the scope. The
+     * requests started by the task on the calling thread that have no deadline
+     * of their own get this one.
+     *
+     * @param task the task starting requests
+     */
+    public void run(@NotNull Runnable task) {
+        Deadline outer = scope.get();
+        scope.set(this);
+        try {
+            task.run();
+        } finally {
+            if (outer != null) {
+                scope.set(outer);
+            } else {
+                scope.remove();
+            }
+        }
+    }
+
+    long remainingNanos() {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    static Deadline current() {
+        return scope.get();
+    }
+}
@@ -0,0 +1,182 @@
+package com.contentstack.sdk;
+
+import okhttp3.HttpUrl;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the requests of a stack to the best of several endpoints serving it,
+ * like a second CDN host or a proxy. The endpoint of the config comes first,
+ * then the endpoints given here in their order.
+ * <p>
+ * Endpoints are ranked by health, then by their measured latency. An endpoint
+ * that failed to connect or answered with a 5xx is skipped for the cooldown,
+ * the request fails over to the next endpoint right away. Latencies get old:
+ * one request at a time goes first to an endpoint that was not measured for
+ * the measure interval, or whose cooldown just elapsed, so traffic goes back
+ * to the primary when it recovered and is the fastest.
+ *
+ * <pre class="prettyprint">
+ * Config config = new Config()
+ *         .setEndpointSelector(new EndpointSelector("https://backup-cdn.example.com")
+ *         .setCooldown(10, TimeUnit.SECONDS));
+ * </pre>
+ */
+public class EndpointSelector {
+
+    // weight of the newest latency in the moving average
+    private static final double SMOOTHING = 0.3;
+
+    private final List<String> endpoints = new ArrayList<>();
+    private final Map<String, Health> health = new HashMap<>();
+    private long cooldown = TimeUnit.SECONDS.toNanos(10);
+    private long measureInterval = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Creates a selector failing over to the given endpoints.
+     *
+     * @param endpoints the scheme, host and port of the endpoints, like
+     *                  {@code https://backup-cdn.example.com}
+     */
+    public EndpointSelector(@NotNull String... endpoints) {
+        for (String endpoint : endpoints) {
+            HttpUrl url = HttpUrl.parse(endpoint);
+            if (url == null) {
+                throw new IllegalArgumentException("Invalid endpoint " + endpoint);
+            }
+            this.endpoints.add(CSHttpConnection.host(url.toString()));
+        }
+    }
+
+    /**
+     * Sets how long an endpoint that failed is skipped. Defaults to 10 seconds.
+     *
+     * @param cooldown the cooldown
+     * @param timeUnit the unit of cooldown
+     * @return the selector
+     */
+    public synchronized EndpointSelector setCooldown(long cooldown, @NotNull TimeUnit timeUnit) {
+        this.cooldown = timeUnit.toNanos(cooldown);
+        return this;
+    }
+
+    /**
+     * Sets how old the latency of an endpoint gets before a request measures it
+     * again. Defaults to 30 seconds.
+     *
+     * @param measureInterval the measure interval
+     * @param timeUnit        the unit of measureInterval
+     * @return the selector
+     */
+    public synchronized EndpointSelector setMeasureInterval(long measureInterval, @NotNull TimeUnit timeUnit) {
+        this.measureInterval = timeUnit.toNanos(measureInterval);
+        return this;
+    }
+
+    /**
+     * Returns the endpoints that failed and are skipped until their cooldown
+     * elapsed
+     *
+     * @return the endpoints
+     */
+    public synchronized Set<String> unhealthyEndpoints() {
+        Set<String> unhealthy = new LinkedHashSet<>();
+        long now = System.nanoTime();
+        for (Map.Entry<String, Health> endpoint : health.entrySet()) {
+            if (endpoint.getValue().isDown(now)) {
+                unhealthy.add(endpoint.getKey());
+            }
+        }
+        return unhealthy;
+    }
+
+    /**
+     * Returns the average latency measured for the endpoint, -1 when it was
+     * never measured
+     *
+     * @param endpoint the endpoint
+     * @param timeUnit the unit of the result
+     * @return the average latency
+     */
+    public synchronized long latency(@NotNull String endpoint, @NotNull TimeUnit timeUnit) {
+        Health endpointHealth = health.get(endpoint);
+        if (endpointHealth == null || endpointHealth.latency < 0) {
+            return -1;
+        }
+        return timeUnit.convert((long) endpointHealth.latency, TimeUnit.NANOSECONDS);
+    }
+
+    // the endpoints in the order they are tried, the primary is the endpoint of the config
+    synchronized List<String> rank(String primary) {
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(primary);
+        candidates.addAll(endpoints);
+        List<String> ranked = new ArrayList<>(candidates);
+        long now = System.nanoTime();
+        // the sort is stable, endpoints alike keep their order
+        ranked.sort(Comparator.comparing((String endpoint) -> health(endpoint).isDown(now))
+                .thenComparingDouble(endpoint -> {
+                    double latency = health(endpoint).latency;
+                    return latency < 0 ? Double.MAX_VALUE : latency;
+                }));
+        for (String endpoint : candidates) {
+            Health endpointHealth = health(endpoint);
+            if (!endpointHealth.isDown(now) && endpointHealth.needsMeasure(now, measureInterval)) {
+                // one request at a time measures the endpoint, another one does when it never reported
+                endpointHealth.measuring = now | 1;
+                ranked.remove(endpoint);
+                ranked.add(0, endpoint);
+                break;
+            }
+        }
+        return ranked;
+    }
+
+    synchronized void onSuccess(String endpoint, long latency) {
+        Health endpointHealth = health(endpoint);
+        long now = System.nanoTime();
+        // an old average says little about the endpoint now, the new latency replaces it
+        boolean old = endpointHealth.measuredAt == 0 || now - endpointHealth.measuredAt > measureInterval;
+        endpointHealth.latency = old ? latency : SMOOTHING * latency + (1 - SMOOTHING) * endpointHealth.latency;
+        endpointHealth.measuredAt = now | 1;
+        endpointHealth.measuring = 0;
+        endpointHealth.downUntil = 0;
+    }
+
+    synchronized void onFailure(String endpoint) {
+        Health endpointHealth = health(endpoint);
+        // once the cooldown elapsed, the endpoint is measured again before it is ranked by its latency
+        endpointHealth.downUntil = (System.nanoTime() + cooldown) | 1;
+        endpointHealth.measuredAt = 0;
+        endpointHealth.measuring = 0;
+    }
+
+    private Health health(String endpoint) {
+        return health.computeIfAbsent(endpoint, key -> new Health());
+    }
+
+    // the times are System.nanoTime() values, 0 when unset
+    private static final class Health {
+        private double latency = -1;
+        private long measuredAt;
+        private long measuring;
+        private long downUntil;
+
+        private boolean isDown(long now) {
+            return downUntil != 0 && now - downUntil < 0;
+        }
+
+        private boolean needsMeasure(long now, long measureInterval) {
+            boolean old = measuredAt == 0 || now - measuredAt > measureInterval;
+            return old && (measuring == 0 || now - measuring > measureInterval);
+        }
+    }
+}
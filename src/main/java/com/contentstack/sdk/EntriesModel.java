@@ -3,12 +3,15 @@ package com.contentstack.sdk;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
 class EntriesModel {
 
+    private static final String ENTRIES = "entries";
     protected JSONObject jsonObject;
     protected List<Object> objectList;
 
@@ -16,7 +19,7 @@ class EntriesModel {
         try {
             this.jsonObject = responseJSON;
             objectList = new ArrayList<>();
-            Object entryList = jsonObject.opt("entries");
+            Object entryList = jsonObject.opt(ENTRIES);
             if (entryList instanceof JSONArray) {
                 JSONArray entries = (JSONArray) entryList;
                 if (entries.length() > 0) {
@@ -35,4 +38,18 @@ class EntriesModel {
         }
 
     }
+
+    /**
+     * Decodes a response straight from the stream of its body. Each element of the
+     * entries array is turned into an {@link EntryModel} as soon as the codec has
+     * decoded it, without holding the body as a String first.
+     *
+     * @param codec  the codec of the stack
+     * @param reader the response body
+     * @throws IOException when the body can not be read
+     */
+    protected EntriesModel(JSONCodec codec, Reader reader) throws IOException {
+        this.objectList = new ArrayList<>();
+        this.jsonObject = codec.decode(reader, ENTRIES, entry -> objectList.add(new EntryModel(entry)));
+    }
 }
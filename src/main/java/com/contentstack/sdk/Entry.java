@@ -1,10 +1,12 @@
 package com.contentstack.sdk;
 
+import io.reactivex.rxjava3.core.Single;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import static com.contentstack.sdk.Constants.ENVIRONMENT;
@@ -14,6 +16,7 @@ public class Entry {
     protected static final Logger logger = Logger.getLogger(Entry.class.getSimpleName());
     protected JSONObject params;
     protected LinkedHashMap<String, Object> headers = null;
+    protected Deadline deadline;
     protected HashMap<String, Object> owner = null;
     protected String uid = null;
     protected JSONObject publishDetails;
@@ -99,6 +102,27 @@ public class Entry {
         }
     }
 
+    /**
+     * Sets the deadline of the requests of this entry. A request still running when
+     * the deadline expires is cancelled and fails with an {@link Error} of code
+     * 408, its retries only get the time left. Without a deadline, only the
+     * timeouts of the {@link Config} apply.
+     *
+     * @param deadline the deadline, see {@link Deadline}
+     * @return Entry <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Entry entry = stack.contentType("contentTypeUid").entry("entryUid");
+     *         entry.setDeadline(Deadline.after(150, TimeUnit.MILLISECONDS)).fetch(callback);
+     *         </pre>
+     */
+    public Entry setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     /**
      * Get title string
      *
@@ -228,6 +252,31 @@ public class Entry {
         return resultJson;
     }
 
+    /**
+     * Binds the entry to a new instance of the given class. Fields are matched
+     * to field uids by their name or by {@link EntryField}. Primitive, boxed,
+     * {@link String}, enum, {@link JSONObject}, {@link JSONArray}, collection,
+     * array and {@link java.util.Map} fields are supported, other classes with a
+     * no-argument constructor are bound as nested groups. Fields of other types,
+     * like {@link java.util.Date}, are left unset.
+     *
+     * @param type class with a no-argument constructor
+     * @param <T>  the bound type
+     * @return the bound object, or null if the entry has not been fetched <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Product product = entry.toObject(Product.class);
+     *         </pre>
+     *
+     * @throws IllegalArgumentException when the class has no no-argument
+     *                                  constructor
+     */
+    public <T> T toObject(@NotNull Class<T> type) {
+        return EntryBinder.of(type).bind(resultJson);
+    }
+
     /**
      * Get object value for key.
      *
@@ -958,37 +1007,107 @@ public class Entry {
         String urlString = "content_types/" + contentTypeUid + "/entries/" + uid;
         JSONObject urlQueries = new JSONObject();
         urlQueries.put(ENVIRONMENT, headers.get(ENVIRONMENT));
-        checkLivePreview(headers, urlQueries);
-        fetchFromNetwork(urlString, urlQueries, callback);
+        LinkedHashMap<String, Object> requestHeaders = checkLivePreview(urlQueries);
+        fetchFromNetwork(urlString, urlQueries, requestHeaders, callback);
     }
 
-    private void fetchFromNetwork(String urlString, JSONObject urlQueries, EntryResultCallBack callBack) {
+    /**
+     * Fetches the entry like {@link #fetch(EntryResultCallBack)} and returns a
+     * future of this entry instead of notifying a callback.
+     *
+     * @return {@link CompletableFuture} of this {@link Entry}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Stack stack = Contentstack.stack("apiKey", "deliveryToken", "environment");
+     *         Entry entry = stack.contentType("form_name").entry("entry_uid");
+     *         entry.fetchAsync().thenAccept(fetched -&gt; {
+     *         });
+     *         </pre>
+     */
+    public CompletableFuture<Entry> fetchAsync() {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        fetch(new EntryResultCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, Error error) {
+                ContentstackException.complete(future, Entry.this, error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Fetches the entry like {@link #fetchAsync()} and binds it to an instance
+     * of the given class, see {@link #toObject(Class)}.
+     *
+     * @param type class with a no-argument constructor the entry is bound to
+     * @param <T>  the bound type
+     * @return {@link CompletableFuture} of the bound entry, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails, or with an {@link IllegalArgumentException} when the class
+     *         can not be bound. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Stack stack = Contentstack.stack("apiKey", "deliveryToken", "environment");
+     *         Entry entry = stack.contentType("product").entry("entry_uid");
+     *         entry.fetchAsync(Product.class).thenAccept(product -&gt; {
+     *         });
+     *         </pre>
+     */
+    public <T> CompletableFuture<T> fetchAsync(@NotNull Class<T> type) {
+        return EntryBinder.ofAsync(type).thenCompose(
+                binder -> fetchAsync().thenApply(fetched -> binder.bind(fetched.toJSON())));
+    }
+
+    /**
+     * Reactive variant of {@link #fetch(EntryResultCallBack)}. The entry is
+     * fetched on every subscription.
+     *
+     * @return {@link Single} emitting this {@link Entry}, or a
+     *         {@link ContentstackException} when the request fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Stack stack = Contentstack.stack("apiKey", "deliveryToken", "environment");
+     *         Entry entry = stack.contentType("form_name").entry("entry_uid");
+     *         entry.rxFetch().subscribe(fetched -&gt; {
+     *         });
+     *         </pre>
+     */
+    public Single<Entry> rxFetch() {
+        return Single.defer(() -> Single.fromCompletionStage(fetchAsync()));
+    }
+
+    private void fetchFromNetwork(String urlString, JSONObject urlQueries, LinkedHashMap<String, Object> headers,
+            EntryResultCallBack callBack) {
         try {
             JSONObject mainJson = new JSONObject();
             setIncludeJSON(urlQueries, callBack);
             mainJson.put("query", urlQueries);
             HashMap<String, Object> urlParams = getUrlParams(mainJson);
-            new CSBackgroundTask(this, contentType.stackInstance, Constants.FETCHENTRY, urlString, this.headers,
+            new CSBackgroundTask(this, contentType.stackInstance, Constants.FETCHENTRY, urlString, headers,
                     urlParams, Constants.REQUEST_CONTROLLER.ENTRY.toString(), callBack);
         } catch (Exception e) {
             throwException(null, e, callBack);
         }
     }
 
-    private void checkLivePreview(LinkedHashMap<String, Object> headers, JSONObject urlQueries) {
-        Config configInstance = contentType.stackInstance.config;
-        if (configInstance.enableLivePreview
-                && configInstance.livePreviewContentType.equalsIgnoreCase(contentTypeUid)) {
-            configInstance.setHost(configInstance.livePreviewHost);
-            headers.remove("access_token"); // Step 4: Remove access_token from header
-            headers.remove(ENVIRONMENT); // Remove environment from urlQuery
-            if (configInstance.livePreviewHash == null || configInstance.livePreviewHash.isEmpty()) {
-                configInstance.livePreviewHash = "init";
-            }
-            headers.put("live_preview", configInstance.livePreviewHash);
-            headers.put("authorization", configInstance.managementToken);
+    // the live preview headers are set on a copy for this request, the entry and
+    // the shared config stay untouched
+    private LinkedHashMap<String, Object> checkLivePreview(JSONObject urlQueries) {
+        LinkedHashMap<String, Object> requestHeaders = Query.livePreviewHeaders(contentType.stackInstance.config,
+                contentTypeUid, headers);
+        if (requestHeaders != null) {
             urlQueries.remove(ENVIRONMENT);
+            return requestHeaders;
         }
+        return headers;
     }
 
     private LinkedHashMap<String, Object> getUrlParams(JSONObject jsonMain) {
@@ -0,0 +1,351 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binds entry JSON to instances of a class. The reflection work is done once
+ * per class when the binder is compiled: every bound field gets a
+ * {@link MethodHandle} setter of its exact type, so binding an entry neither
+ * looks fields up nor boxes primitive values.
+ * <p>
+ * Fields are bound from strings, numbers, booleans, enums by constant name,
+ * {@link BigDecimal} and {@link BigInteger}, {@link JSONObject} and
+ * {@link JSONArray}, lists, sets, arrays and maps with string keys of those,
+ * and nested classes with a no-argument constructor. Fields of any other type,
+ * like {@link java.util.Date}, are left unset.
+ *
+ * @param <T> the bound class
+ */
+final class EntryBinder<T> {
+
+    private static final ClassValue<EntryBinder<?>> BINDERS = new ClassValue<EntryBinder<?>>() {
+        @Override
+        protected EntryBinder<?> computeValue(Class<?> type) {
+            return new EntryBinder<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final FieldBinder[] fieldBinders;
+
+    private EntryBinder(Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            Constructor<T> noArgs = type.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a no-argument constructor to be bound", e);
+        }
+        List<FieldBinder> binders = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                FieldBinder binder = compile(lookup, field);
+                if (binder != null) {
+                    binders.add(binder);
+                }
+            }
+        }
+        this.fieldBinders = binders.toArray(new FieldBinder[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> EntryBinder<T> of(Class<T> type) {
+        return (EntryBinder<T>) BINDERS.get(type);
+    }
+
+    // the binder of the class, or a future failed with the reason the class can not be bound
+    static <T> CompletableFuture<EntryBinder<T>> ofAsync(Class<T> type) {
+        CompletableFuture<EntryBinder<T>> future = new CompletableFuture<>();
+        try {
+            future.complete(of(type));
+        } catch (IllegalArgumentException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    T bind(JSONObject json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            Object target = constructor.invokeExact();
+            for (FieldBinder fieldBinder : fieldBinders) {
+                fieldBinder.bind(target, json);
+            }
+            return type.cast(target);
+        } catch (RuntimeException | java.lang.Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not bind " + type.getName(), e);
+        }
+    }
+
+    List<T> bindAll(List<Entry> entries) {
+        List<T> objects = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            objects.add(bind(entry.toJSON()));
+        }
+        return objects;
+    }
+
+    // the binder of the field, null when fields of its type are left unset
+    private static FieldBinder compile(MethodHandles.Lookup lookup, Field field) {
+        EntryField annotation = field.getAnnotation(EntryField.class);
+        String key = annotation != null ? annotation.value() : field.getName();
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            setter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Field " + field.getName() + " can not be bound", e);
+        }
+        Class<?> fieldType = field.getType();
+        if (fieldType == int.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Number) {
+                    set.invokeExact(target, ((Number) value).intValue());
+                }
+            };
+        } else if (fieldType == long.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Number) {
+                    set.invokeExact(target, ((Number) value).longValue());
+                }
+            };
+        } else if (fieldType == double.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Number) {
+                    set.invokeExact(target, ((Number) value).doubleValue());
+                }
+            };
+        } else if (fieldType == float.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, float.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Number) {
+                    set.invokeExact(target, ((Number) value).floatValue());
+                }
+            };
+        } else if (fieldType == short.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, short.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Number) {
+                    set.invokeExact(target, ((Number) value).shortValue());
+                }
+            };
+        } else if (fieldType == boolean.class) {
+            MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+            return (target, json) -> {
+                Object value = json.opt(key);
+                if (value instanceof Boolean) {
+                    set.invokeExact(target, ((Boolean) value).booleanValue());
+                }
+            };
+        }
+        // the other primitives are converted like their wrapper and unboxed by the setter
+        Converter converter = converter(MethodType.methodType(fieldType).wrap().returnType(), field.getGenericType());
+        if (converter == null) {
+            return null;
+        }
+        MethodHandle set = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, json) -> {
+            Object value = json.opt(key);
+            if (value != null && value != JSONObject.NULL) {
+                Object converted = converter.convert(value);
+                if (converted != null) {
+                    set.invokeExact(target, converted);
+                }
+            }
+        };
+    }
+
+    // the converter of a field type, null when fields of the type are left unset
+    private static Converter converter(Class<?> fieldType, Type genericType) {
+        if (fieldType == String.class) {
+            return value -> value instanceof String ? value : null;
+        } else if (fieldType == Integer.class) {
+            return value -> value instanceof Number ? ((Number) value).intValue() : null;
+        } else if (fieldType == Long.class) {
+            return value -> value instanceof Number ? ((Number) value).longValue() : null;
+        } else if (fieldType == Double.class) {
+            return value -> value instanceof Number ? ((Number) value).doubleValue() : null;
+        } else if (fieldType == Float.class) {
+            return value -> value instanceof Number ? ((Number) value).floatValue() : null;
+        } else if (fieldType == Short.class) {
+            return value -> value instanceof Number ? ((Number) value).shortValue() : null;
+        } else if (fieldType == Byte.class) {
+            return value -> value instanceof Number ? ((Number) value).byteValue() : null;
+        } else if (fieldType == Character.class) {
+            return value -> value instanceof String && ((String) value).length() == 1 ? ((String) value).charAt(0)
+                    : null;
+        } else if (fieldType == Boolean.class) {
+            return value -> value instanceof Boolean ? value : null;
+        } else if (fieldType == BigDecimal.class) {
+            return value -> value instanceof Number ? new BigDecimal(value.toString()) : null;
+        } else if (fieldType == BigInteger.class) {
+            return value -> value instanceof Number ? new BigDecimal(value.toString()).toBigInteger() : null;
+        } else if (fieldType == JSONObject.class) {
+            return value -> value instanceof JSONObject ? value : null;
+        } else if (fieldType == JSONArray.class) {
+            return value -> value instanceof JSONArray ? value : null;
+        } else if (fieldType == Object.class) {
+            return value -> value;
+        } else if (fieldType.isEnum()) {
+            return enumConverter(fieldType);
+        } else if (fieldType == List.class || fieldType == Collection.class || fieldType == Iterable.class
+                || fieldType == Set.class) {
+            Converter element = converter(typeArgument(genericType, 0));
+            if (element == null) {
+                return null;
+            }
+            boolean set = fieldType == Set.class;
+            return value -> {
+                if (!(value instanceof JSONArray)) {
+                    return null;
+                }
+                JSONArray array = (JSONArray) value;
+                Collection<Object> collection = set ? new LinkedHashSet<>() : new ArrayList<>(array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    collection.add(element.convert(array.opt(i)));
+                }
+                return collection;
+            };
+        } else if (fieldType.isArray()) {
+            Class<?> componentType = fieldType.getComponentType();
+            Converter element = converter(MethodType.methodType(componentType).wrap().returnType(),
+                    componentType);
+            if (element == null) {
+                return null;
+            }
+            return value -> {
+                if (!(value instanceof JSONArray)) {
+                    return null;
+                }
+                JSONArray array = (JSONArray) value;
+                Object converted = Array.newInstance(componentType, array.length());
+                for (int i = 0; i < array.length(); i++) {
+                    Object item = element.convert(array.opt(i));
+                    // an element that can not be converted keeps the default value of the array
+                    if (item != null) {
+                        Array.set(converted, i, item);
+                    }
+                }
+                return converted;
+            };
+        } else if (fieldType == Map.class) {
+            Type keyType = typeArgument(genericType, 0);
+            Converter element = converter(typeArgument(genericType, 1));
+            if ((keyType != String.class && keyType != Object.class) || element == null) {
+                return null;
+            }
+            return value -> {
+                if (!(value instanceof JSONObject)) {
+                    return null;
+                }
+                JSONObject object = (JSONObject) value;
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (String name : object.keySet()) {
+                    map.put(name, element.convert(object.opt(name)));
+                }
+                return map;
+            };
+        } else if (fieldType.isPrimitive() || fieldType.isInterface() || Modifier.isAbstract(fieldType.getModifiers())
+                || fieldType.getName().startsWith("java.") || !hasNoArgsConstructor(fieldType)) {
+            return null;
+        }
+        // nested group or reference, bound with its own binder
+        return value -> value instanceof JSONObject ? of(fieldType).bind((JSONObject) value) : null;
+    }
+
+    // the converter of a type argument, its values are kept as decoded when it is a wildcard or a type variable
+    private static Converter converter(Type type) {
+        if (type instanceof Class) {
+            return converter((Class<?>) type, type);
+        } else if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class) {
+            return converter((Class<?>) ((ParameterizedType) type).getRawType(), type);
+        }
+        return value -> value;
+    }
+
+    private static Type typeArgument(Type genericType, int index) {
+        return genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments()[index]
+                : Object.class;
+    }
+
+    // enum constants are matched by name, ignoring case when no constant has the exact name
+    private static Converter enumConverter(Class<?> enumType) {
+        Map<String, Object> constants = new HashMap<>();
+        Map<String, Object> lowerCaseConstants = new HashMap<>();
+        for (Object constant : enumType.getEnumConstants()) {
+            String name = ((Enum<?>) constant).name();
+            constants.put(name, constant);
+            lowerCaseConstants.putIfAbsent(name.toLowerCase(Locale.ROOT), constant);
+        }
+        return value -> {
+            if (!(value instanceof String)) {
+                return null;
+            }
+            Object constant = constants.get(value);
+            return constant != null ? constant
+                    : lowerCaseConstants.get(((String) value).toLowerCase(Locale.ROOT));
+        };
+    }
+
+    private static boolean hasNoArgsConstructor(Class<?> type) {
+        try {
+            type.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldBinder {
+        void bind(Object target, JSONObject json) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        Object convert(Object value);
+    }
+}
@@ -0,0 +1,29 @@
+package com.contentstack.sdk;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field of a class bound with {@link Entry#toObject(Class)} or
+ * {@link Query#findAsync(Class)} to the field uid of the entry. Without this
+ * annotation the name of the Java field is used as field uid.
+ *
+ * <pre class="prettyprint">
+ * public class Product {
+ *     String title;
+ *     &#64;EntryField("price_in_usd")
+ *     double price;
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface EntryField {
+
+    /**
+     * @return the field uid of the entry
+     */
+    String value();
+}
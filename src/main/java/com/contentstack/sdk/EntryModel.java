@@ -56,6 +56,11 @@ class EntryModel {
         if (this.jsonObject.has(urlKey)) {
             this.url = (String) this.jsonObject.opt(urlKey);
         }
+        if (this.jsonObject instanceof LazyJSONObject) {
+            // lazily decoded entries read the other fields on demand through Entry
+            this.locale = this.language;
+            return;
+        }
         if (this.jsonObject.has("description")) {
             this.description = this.jsonObject.opt("description");
         }
@@ -0,0 +1,79 @@
+package com.contentstack.sdk;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JSONCodec} reading responses with Gson's streaming
+ * {@link JsonReader}, which tokenizes noticeably faster than org.json. The
+ * decoded values are the same as with {@link OrgJSONCodec}: numbers are
+ * converted with {@link JSONObject#stringToValue(String)} and JSON null becomes
+ * {@link JSONObject#NULL}.
+ */
+public class GsonJSONCodec implements JSONCodec {
+
+    @Override
+    public JSONObject decode(Reader reader, String arrayKey, Consumer<JSONObject> visitor) throws IOException {
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            JSONObject jsonObject = new JSONObject();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String key = jsonReader.nextName();
+                if (key.equals(arrayKey) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                    jsonObject.put(key, readArray(jsonReader, visitor));
+                } else {
+                    jsonObject.put(key, readValue(jsonReader));
+                }
+            }
+            jsonReader.endObject();
+            return jsonObject;
+        }
+    }
+
+    private JSONArray readArray(JsonReader jsonReader, Consumer<JSONObject> visitor) throws IOException {
+        JSONArray array = new JSONArray();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            Object element = readValue(jsonReader);
+            array.put(element);
+            if (visitor != null && element instanceof JSONObject) {
+                visitor.accept((JSONObject) element);
+            }
+        }
+        jsonReader.endArray();
+        return array;
+    }
+
+    private Object readValue(JsonReader jsonReader) throws IOException {
+        switch (jsonReader.peek()) {
+        case BEGIN_OBJECT:
+            JSONObject jsonObject = new JSONObject();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String key = jsonReader.nextName();
+                jsonObject.put(key, readValue(jsonReader));
+            }
+            jsonReader.endObject();
+            return jsonObject;
+        case BEGIN_ARRAY:
+            return readArray(jsonReader, null);
+        case STRING:
+            return jsonReader.nextString();
+        case NUMBER:
+            return JSONObject.stringToValue(jsonReader.nextString());
+        case BOOLEAN:
+            return jsonReader.nextBoolean();
+        case NULL:
+            jsonReader.nextNull();
+            return JSONObject.NULL;
+        default:
+            throw new IOException("Unexpected token " + jsonReader.peek() + " at " + jsonReader.getPath());
+        }
+    }
+}
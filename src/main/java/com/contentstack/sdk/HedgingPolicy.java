@@ -0,0 +1,145 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends a second, identical request when the first one is slow. When a request
+ * has not been answered after the given percentile of the latencies observed
+ * so far, a hedge is sent; the first response wins and the other request is
+ * cancelled. Hedges are sent only once enough latencies were observed, and
+ * never for more than {@code maxHedgeRatio} of the requests.
+ * <p>
+ * A request runs on the thread of its caller, so a request that loses to its
+ * hedge is cancelled and its own latency is never known: the latency the
+ * caller waited for is recorded instead. Such a request was hedged because it
+ * was slower than the delay, and so is the recorded latency, which keeps the
+ * percentile from drifting down. When the delay is below a slow tail, the
+ * recorded latencies of the hedged requests are only a little above the
+ * delay, and the delay rises to the tail only gradually.
+ * <p>
+ * The SDK only sends GET requests, sending them twice is safe.
+ *
+ * <pre class="prettyprint">
+ * // hedge the requests slower than the 95th percentile, at most 5% of them
+ * Config config = new Config().setHedgingPolicy(new HedgingPolicy(0.95, 0.05));
+ * </pre>
+ */
+public class HedgingPolicy {
+
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private static final ScheduledExecutorService timer = createTimer();
+
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private long minDelay = TimeUnit.MILLISECONDS.toNanos(5);
+    private final long[] latencies = new long[SAMPLES];
+    private int samples;
+    private long delay = -1;
+    private long requests;
+    private long hedges;
+    private long hedgeWins;
+
+    /**
+     * Creates a hedging policy.
+     *
+     * @param percentile    the percentile of the latencies after which a hedge
+     *                      is sent, like 0.95
+     * @param maxHedgeRatio the maximum share of requests that get a hedge, like
+     *                      0.05
+     */
+    public HedgingPolicy(double percentile, double maxHedgeRatio) {
+        if (percentile <= 0 || percentile >= 1 || maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1) and maxHedgeRatio in [0, 1]");
+        }
+        this.percentile = percentile;
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    /**
+     * Sets the minimum delay before a hedge is sent, whatever the observed
+     * latencies. Defaults to 5 milliseconds.
+     *
+     * @param minDelay the minimum delay
+     * @param timeUnit the unit of minDelay
+     * @return the hedging policy
+     */
+    public synchronized HedgingPolicy setMinDelay(long minDelay, @NotNull TimeUnit timeUnit) {
+        this.minDelay = timeUnit.toNanos(minDelay);
+        if (this.delay >= 0) {
+            this.delay = Math.max(this.delay, this.minDelay);
+        }
+        return this;
+    }
+
+    /**
+     * Returns how many hedges were sent
+     *
+     * @return the hedge count
+     */
+    public synchronized long hedgeCount() {
+        return hedges;
+    }
+
+    /**
+     * Returns how many hedges answered before the request they hedged
+     *
+     * @return the count of winning hedges
+     */
+    public synchronized long hedgeWinCount() {
+        return hedgeWins;
+    }
+
+    // the delay in nanoseconds after which a request is hedged, -1 while there are too few latencies
+    synchronized long delay() {
+        requests++;
+        return delay;
+    }
+
+    // true when the budget allows one more hedge, which is then counted
+    synchronized boolean tryHedge() {
+        if (hedges + 1 > maxHedgeRatio * requests) {
+            return false;
+        }
+        hedges++;
+        return true;
+    }
+
+    synchronized void onHedgeWin() {
+        hedgeWins++;
+    }
+
+    synchronized void record(long latency) {
+        latencies[samples % SAMPLES] = latency;
+        samples++;
+        if (samples >= MIN_SAMPLES && (delay < 0 || samples % RECOMPUTE_EVERY == 0)) {
+            long[] sorted = Arrays.copyOf(latencies, Math.min(samples, SAMPLES));
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            delay = Math.max(minDelay, sorted[Math.max(0, index)]);
+        }
+    }
+
+    static ScheduledFuture<?> schedule(Runnable hedge, long delay) {
+        return timer.schedule(hedge, delay, TimeUnit.NANOSECONDS);
+    }
+
+    // one daemon thread only fires the hedges, they are sent on the background executor of the stack
+    private static ScheduledExecutorService createTimer() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "Contentstack hedging");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the body of every Content Delivery API response. The SDK uses
+ * {@link OrgJSONCodec} unless another codec is set with
+ * {@link Config#setJSONCodec(JSONCodec)}, e.g. {@link GsonJSONCodec} or a
+ * hand-written one tuned for the payload shapes of a stack.
+ * <p>
+ * Implementations must be thread-safe, a single codec decodes the responses of
+ * all concurrent requests of a stack.
+ */
+public interface JSONCodec {
+
+    /**
+     * Decodes the JSON object read from the reader. Every element of the top-level
+     * array named arrayKey that is an object is handed to the visitor as soon as
+     * it has been decoded, before the rest of the body is read. The returned
+     * object still contains the array.
+     *
+     * @param reader   the response body
+     * @param arrayKey the key of the top-level array to visit, may be null
+     * @param visitor  receives every decoded object element of the array
+     * @return the decoded {@link JSONObject}
+     * @throws IOException when the body can not be read
+     */
+    JSONObject decode(Reader reader, String arrayKey, Consumer<JSONObject> visitor) throws IOException;
+
+    /**
+     * Decodes the JSON object read from the reader.
+     *
+     * @param reader the response body
+     * @return the decoded {@link JSONObject}
+     * @throws IOException when the body can not be read
+     */
+    default JSONObject decode(Reader reader) throws IOException {
+        return decode(reader, null, element -> {
+        });
+    }
+}
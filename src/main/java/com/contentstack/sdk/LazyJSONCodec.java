@@ -0,0 +1,96 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JSONCodec} that decodes the entries of query responses lazily. The
+ * body is read into memory and every entry only indexes where its fields are
+ * in the body; a field is decoded on its first access through
+ * {@link Entry#get(String)}, {@link Entry#getString(String)} and alike, and is
+ * kept afterwards. Listing pages reading a few fields of every entry save most
+ * of the parsing work and keep far fewer objects alive.
+ * <p>
+ * Everything outside of the visited array, like single entry responses, is
+ * decoded eagerly.
+ *
+ * <pre class="prettyprint">
+ * Config config = new Config();
+ * config.setJSONCodec(new LazyJSONCodec());
+ * </pre>
+ */
+public class LazyJSONCodec implements JSONCodec {
+
+    @Override
+    public JSONObject decode(Reader reader, String arrayKey, Consumer<JSONObject> visitor) throws IOException {
+        String source = read(reader);
+        int i = LazyJSONObject.skipWhitespace(source, 0);
+        if (i >= source.length() || source.charAt(i) != '{') {
+            throw LazyJSONObject.syntaxError("A JSONObject text must begin with '{'", i);
+        }
+        JSONObject jsonObject = new JSONObject();
+        i = LazyJSONObject.skipWhitespace(source, i + 1);
+        while (i < source.length() && source.charAt(i) != '}') {
+            if (source.charAt(i) != '"') {
+                throw LazyJSONObject.syntaxError("Expected a key", i);
+            }
+            int keyEnd = LazyJSONObject.skipString(source, i);
+            String key = new JSONTokener(source.substring(i + 1, keyEnd)).nextString('"');
+            i = LazyJSONObject.skipWhitespace(source, keyEnd);
+            if (i >= source.length() || source.charAt(i) != ':') {
+                throw LazyJSONObject.syntaxError("Expected a ':' after a key", i);
+            }
+            int valueStart = LazyJSONObject.skipWhitespace(source, i + 1);
+            int valueEnd = LazyJSONObject.skipValue(source, valueStart);
+            if (key.equals(arrayKey) && source.charAt(valueStart) == '[') {
+                jsonObject.put(key, readArray(source, valueStart, valueEnd, visitor));
+            } else {
+                jsonObject.put(key, new JSONTokener(source.substring(valueStart, valueEnd)).nextValue());
+            }
+            i = LazyJSONObject.skipWhitespace(source, valueEnd);
+            if (i < source.length() && source.charAt(i) == ',') {
+                i = LazyJSONObject.skipWhitespace(source, i + 1);
+            } else if (i >= source.length() || source.charAt(i) != '}') {
+                throw LazyJSONObject.syntaxError("Expected a ',' or '}'", i);
+            }
+        }
+        return jsonObject;
+    }
+
+    private JSONArray readArray(String source, int start, int end, Consumer<JSONObject> visitor) {
+        JSONArray array = new JSONArray();
+        int i = LazyJSONObject.skipWhitespace(source, start + 1);
+        while (i < end && source.charAt(i) != ']') {
+            int elementEnd = LazyJSONObject.skipValue(source, i);
+            if (source.charAt(i) == '{') {
+                JSONObject element = new LazyJSONObject(source, i, elementEnd);
+                array.put(element);
+                visitor.accept(element);
+            } else {
+                array.put(new JSONTokener(source.substring(i, elementEnd)).nextValue());
+            }
+            i = LazyJSONObject.skipWhitespace(source, elementEnd);
+            if (i < end && source.charAt(i) == ',') {
+                i = LazyJSONObject.skipWhitespace(source, i + 1);
+            } else if (i >= end || source.charAt(i) != ']') {
+                throw LazyJSONObject.syntaxError("Expected a ',' or ']'", i);
+            }
+        }
+        return array;
+    }
+
+    private static String read(Reader reader) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link JSONObject} that only indexes the value spans of its keys in the
+ * response text and decodes a value on its first access. Decoded values are
+ * kept, so every value is decoded at most once. Methods that need all values,
+ * like {@link #keySet()} or {@link #toString()}, decode the remaining ones
+ * first.
+ * <p>
+ * Created by {@link LazyJSONCodec}.
+ */
+final class LazyJSONObject extends JSONObject {
+
+    private String source;
+    private Map<String, Long> pending;
+
+    LazyJSONObject(String source, int start, int end) {
+        super();
+        this.source = source;
+        this.pending = new HashMap<>();
+        int i = skipWhitespace(source, start + 1);
+        if (i < end && source.charAt(i) == '}') {
+            release();
+            return;
+        }
+        while (i < end) {
+            if (source.charAt(i) != '"') {
+                throw syntaxError("Expected a key", i);
+            }
+            int keyEnd = skipString(source, i);
+            String key = key(source, i, keyEnd);
+            i = skipWhitespace(source, keyEnd);
+            if (i >= end || source.charAt(i) != ':') {
+                throw syntaxError("Expected a ':' after a key", i);
+            }
+            int valueStart = skipWhitespace(source, i + 1);
+            int valueEnd = skipValue(source, valueStart);
+            pending.put(key, ((long) valueStart << 32) | valueEnd);
+            i = skipWhitespace(source, valueEnd);
+            if (i < end && source.charAt(i) == ',') {
+                i = skipWhitespace(source, i + 1);
+            } else if (i < end && source.charAt(i) == '}') {
+                return;
+            } else {
+                throw syntaxError("Expected a ',' or '}'", i);
+            }
+        }
+        throw syntaxError("Unterminated object", start);
+    }
+
+    @Override
+    public synchronized Object opt(String key) {
+        if (key != null && pending != null && pending.containsKey(key)) {
+            decode(key);
+        }
+        return super.opt(key);
+    }
+
+    @Override
+    public synchronized boolean has(String key) {
+        return (pending != null && pending.containsKey(key)) || super.has(key);
+    }
+
+    @Override
+    public synchronized JSONObject put(String key, Object value) {
+        if (pending != null && key != null) {
+            pending.remove(key);
+            releaseIfDecoded();
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    public synchronized Object remove(String key) {
+        opt(key);
+        return super.remove(key);
+    }
+
+    @Override
+    public synchronized int length() {
+        return super.length() + (pending != null ? pending.size() : 0);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return length() == 0;
+    }
+
+    @Override
+    public synchronized void clear() {
+        release();
+        super.clear();
+    }
+
+    @Override
+    public synchronized Set<String> keySet() {
+        decodeAll();
+        return super.keySet();
+    }
+
+    @Override
+    public synchronized Iterator<String> keys() {
+        decodeAll();
+        return super.keys();
+    }
+
+    @Override
+    protected synchronized Set<Map.Entry<String, Object>> entrySet() {
+        decodeAll();
+        return super.entrySet();
+    }
+
+    @Override
+    public synchronized JSONArray names() {
+        decodeAll();
+        return super.names();
+    }
+
+    @Override
+    public synchronized Map<String, Object> toMap() {
+        decodeAll();
+        return super.toMap();
+    }
+
+    @Override
+    public synchronized boolean similar(Object other) {
+        decodeAll();
+        return super.similar(other);
+    }
+
+    @Override
+    public synchronized Writer write(Writer writer, int indentFactor, int indent) {
+        decodeAll();
+        return super.write(writer, indentFactor, indent);
+    }
+
+    private void decode(String key) {
+        long span = pending.remove(key);
+        Object value = new JSONTokener(source.substring((int) (span >>> 32), (int) span)).nextValue();
+        super.put(key, value);
+        releaseIfDecoded();
+    }
+
+    private void decodeAll() {
+        while (pending != null && !pending.isEmpty()) {
+            decode(pending.keySet().iterator().next());
+        }
+    }
+
+    private void releaseIfDecoded() {
+        if (pending.isEmpty()) {
+            release();
+        }
+    }
+
+    private void release() {
+        // drop the reference to the response text once nothing is left to decode
+        pending = null;
+        source = null;
+    }
+
+    private static String key(String source, int start, int end) {
+        String key = source.substring(start + 1, end - 1);
+        return key.indexOf('\\') < 0 ? key : new JSONTokener(source.substring(start + 1, end)).nextString('"');
+    }
+
+    static int skipWhitespace(String source, int i) {
+        while (i < source.length() && source.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    static int skipString(String source, int i) {
+        for (i = i + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        throw syntaxError("Unterminated string", i);
+    }
+
+    static int skipValue(String source, int i) {
+        if (i >= source.length()) {
+            throw syntaxError("Expected a value", i);
+        }
+        char c = source.charAt(i);
+        if (c == '"') {
+            return skipString(source, i);
+        }
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            while (i < source.length()) {
+                c = source.charAt(i);
+                if (c == '"') {
+                    i = skipString(source, i);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            throw syntaxError("Unterminated value", i);
+        }
+        while (i < source.length() && ",:]}/\\\"[{;=#".indexOf(c) < 0 && c > ' ') {
+            c = ++i < source.length() ? source.charAt(i) : ' ';
+        }
+        return i;
+    }
+
+    static JSONException syntaxError(String message, int position) {
+        return new JSONException(message + " at " + position);
+    }
+}
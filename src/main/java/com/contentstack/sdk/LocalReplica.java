@@ -0,0 +1,435 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static com.contentstack.sdk.Constants.*;
+
+/**
+ * An in-memory replica of the published entries and assets of a stack, kept
+ * current by the Sync API. Once the initial sync completed, the requests of the
+ * stacks it is set on are answered from memory with {@link ResponseType#CACHE}:
+ * <ul>
+ * <li>{@link Query#find(QueryResultsCallBack)} and
+ * {@link Query#findOne(SingleQueryResultCallback)} with conditions, a locale,
+ * skip, limit, include_count, an ascending or descending order and only or
+ * except fields, the conditions are evaluated like the server does;</li>
+ * <li>{@link Entry#fetch(EntryResultCallBack)} and
+ * {@link Asset#fetch(FetchResultCallback)} of a uid the replica holds.</li>
+ * </ul>
+ * Other requests, like queries including references or with conditions on
+ * them, and requests of another stack, environment or branch go over the
+ * network.
+ * <p>
+ * Entries without an order are sorted by their updated_at, newest first, like
+ * the Content Delivery API does. Queries without a locale get the entries of
+ * the master locale, see {@link #setMasterLocale(String)}.
+ *
+ * <pre class="prettyprint">
+ * LocalReplica replica = new LocalReplica();
+ * Stack stack = Contentstack.stack(apiKey, deliveryToken, environment, new Config().setLocalReplica(replica));
+ * replica.sync(stack).join();
+ * // later, like on a publish webhook
+ * replica.sync(stack);
+ * </pre>
+ */
+public class LocalReplica {
+
+    private static final Set<String> QUERY_PARAMS = new HashSet<>(
+            Arrays.asList(ENVIRONMENT, "locale", "skip", LIMIT, "include_count", "asc", "desc", QUERY,
+                    "only[BASE][]", "except[BASE][]"));
+    private static final Set<String> FETCH_PARAMS = new HashSet<>(Arrays.asList(ENVIRONMENT, "locale"));
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_FILTERS = 256;
+    private static final Predicate<JSONObject> UNSUPPORTED = entry -> false;
+
+    // content type uid, then locale, then entry uid
+    private final Map<String, Map<String, Map<String, JSONObject>>> entries = new ConcurrentHashMap<>();
+    // locale, then asset uid
+    private final Map<String, Map<String, JSONObject>> assets = new ConcurrentHashMap<>();
+    // the compiled conditions of recent queries, by their JSON
+    private final Map<String, Predicate<JSONObject>> filters = new ConcurrentHashMap<>();
+    private volatile String masterLocale = "en-us";
+    private volatile String syncToken;
+    private volatile boolean ready;
+    // the api key, environment and branch of the stack the replica was synced with
+    private volatile List<Object> scope;
+    private CompletableFuture<String> syncing;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Sets the master locale of the stack, the locale of queries and fetches
+     * without one. Defaults to en-us.
+     *
+     * @param masterLocale the code of the master locale
+     * @return the replica
+     */
+    public LocalReplica setMasterLocale(@NotNull String masterLocale) {
+        this.masterLocale = masterLocale;
+        return this;
+    }
+
+    /**
+     * Syncs the replica with the stack: the first sync is an initial sync, the
+     * following ones apply the changes since the previous one. A sync started
+     * while another one is running returns the future of the running one.
+     *
+     * @param stack the stack to sync with, always the same one
+     * @return {@link CompletableFuture} of the sync token, completed once the
+     *         replica is current
+     * @throws IllegalArgumentException when the stack has another api key,
+     *                                  environment or branch than before
+     */
+    public synchronized CompletableFuture<String> sync(@NotNull Stack stack) {
+        List<Object> stackScope = Arrays.asList(stack.header("api_key"), stack.header(ENVIRONMENT),
+                stack.header("branch"));
+        if (scope != null && !scope.equals(stackScope)) {
+            throw new IllegalArgumentException("The replica is synced with another stack or environment");
+        }
+        scope = stackScope;
+        if (syncing != null) {
+            return syncing;
+        }
+        SyncConsumer consumer = new SyncConsumer() {
+            @Override
+            public void accept(JSONObject item) {
+                apply(item);
+            }
+        };
+        // set before the sync starts, it can complete on this thread
+        CompletableFuture<String> result = new CompletableFuture<>();
+        syncing = result;
+        CompletableFuture<String> sync = syncToken != null ? stack.syncAll(syncToken, consumer)
+                : stack.syncAll(consumer);
+        sync.whenComplete((token, error) -> {
+            synchronized (this) {
+                syncing = null;
+                if (error == null) {
+                    syncToken = token;
+                    ready = true;
+                }
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(token);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Applies a page of a sync, like a recorded one. The replica is ready once
+     * the last page, the one with the sync token, was applied.
+     *
+     * @param page the page
+     */
+    public void apply(@NotNull SyncStack page) {
+        if (page.getItems() != null) {
+            for (JSONObject item : page.getItems()) {
+                apply(item);
+            }
+        }
+        if (page.getSyncToken() != null) {
+            syncToken = page.getSyncToken();
+            ready = true;
+        }
+    }
+
+    /**
+     * Applies an item of a sync: published entries and assets are stored,
+     * unpublished and deleted ones removed, and a deleted content type removes
+     * its entries. Items of other types are ignored.
+     *
+     * @param item the item
+     */
+    public synchronized void apply(@NotNull JSONObject item) {
+        String type = item.optString("type");
+        JSONObject data = item.optJSONObject("data");
+        if (data == null) {
+            return;
+        }
+        String uid = data.optString("uid", null);
+        if (uid == null && type.endsWith("_published")) {
+            return;
+        }
+        switch (type) {
+        case "entry_published":
+            entries.computeIfAbsent(item.optString("content_type_uid"), key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(locale(data), key -> new ConcurrentHashMap<>()).put(uid, data);
+            break;
+        case "entry_unpublished":
+        case "entry_deleted":
+            remove(entries.get(item.optString("content_type_uid")), uid, data);
+            break;
+        case "asset_published":
+            assets.computeIfAbsent(locale(data), key -> new ConcurrentHashMap<>()).put(uid, data);
+            break;
+        case "asset_unpublished":
+        case "asset_deleted":
+            remove(assets, uid, data);
+            break;
+        case "content_type_deleted":
+            entries.remove(uid != null ? uid : item.optString("content_type_uid"));
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Returns whether the initial sync completed and requests are answered from
+     * the replica
+     *
+     * @return true once the replica is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the sync token of the latest completed sync
+     *
+     * @return the sync token, null before the initial sync completed
+     */
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    /**
+     * Returns how many entries the replica holds, all locales counted
+     *
+     * @return the count of entries
+     */
+    public long entryCount() {
+        long count = 0;
+        for (Map<String, Map<String, JSONObject>> locales : entries.values()) {
+            for (Map<String, JSONObject> localeEntries : locales.values()) {
+                count += localeEntries.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many requests were answered from the replica
+     *
+     * @return the count of hits
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns how many requests the ready replica could not answer and went
+     * over the network
+     *
+     * @return the count of misses
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    // the response of the request, null when it has to go over the network
+    JSONObject answer(String controller, String url, Map<String, Object> params, Map<String, Object> headers) {
+        if (!ready) {
+            return null;
+        }
+        JSONObject response = respond(controller, url, params != null ? params : Collections.emptyMap(), headers);
+        synchronized (this) {
+            if (response != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        return response;
+    }
+
+    private JSONObject respond(String controller, String url, Map<String, Object> params,
+            Map<String, Object> headers) {
+        Object environment = params.containsKey(ENVIRONMENT) ? params.get(ENVIRONMENT) : headers.get(ENVIRONMENT);
+        // a replica fed with recorded pages has no scope
+        List<Object> replicaScope = scope;
+        if (url.indexOf('?') >= 0 || (replicaScope != null
+                && !replicaScope.equals(Arrays.asList(headers.get("api_key"), environment, headers.get("branch"))))) {
+            return null;
+        }
+        String locale = params.containsKey("locale") ? String.valueOf(params.get("locale")) : masterLocale;
+        if (QUERYOBJECT.equals(controller) || SINGLEQUERYOBJECT.equals(controller)) {
+            String contentTypeUid = pathAfter(url, "/content_types/", "/entries");
+            return contentTypeUid != null && QUERY_PARAMS.containsAll(params.keySet())
+                    ? find(contentTypeUid, locale, params)
+                    : null;
+        }
+        if (!FETCH_PARAMS.containsAll(params.keySet())) {
+            return null;
+        }
+        if (FETCHENTRY.equals(controller)) {
+            String path = pathAfter(url, "/content_types/", null);
+            int separator = path != null ? path.indexOf("/entries/") : -1;
+            if (separator < 0) {
+                return null;
+            }
+            JSONObject entry = get(entries.get(path.substring(0, separator)), locale,
+                    path.substring(separator + "/entries/".length()));
+            return entry != null ? new JSONObject().put("entry", copy(entry)) : null;
+        }
+        if (FETCHASSETS.equals(controller)) {
+            JSONObject asset = get(assets, locale, pathAfter(url, "/assets/", null));
+            return asset != null ? new JSONObject().put("asset", copy(asset)) : null;
+        }
+        return null;
+    }
+
+    private JSONObject find(String contentTypeUid, String locale, Map<String, Object> params) {
+        Predicate<JSONObject> filter = filter(params.get(QUERY));
+        Object only = params.get("only[BASE][]");
+        Object except = params.get("except[BASE][]");
+        if (filter == UNSUPPORTED || (only != null && !(only instanceof JSONArray))
+                || (except != null && !(except instanceof JSONArray))) {
+            return null;
+        }
+        Map<String, Map<String, JSONObject>> locales = entries.get(contentTypeUid);
+        Map<String, JSONObject> localeEntries = locales != null ? locales.get(locale) : null;
+        List<JSONObject> matches = new ArrayList<>();
+        if (localeEntries != null) {
+            for (JSONObject entry : localeEntries.values()) {
+                if (filter == null || filter.test(entry)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        matches.sort(order(params));
+        int skip = Math.max(0, intParam(params, "skip", 0));
+        int limit = Math.max(0, intParam(params, LIMIT, DEFAULT_LIMIT));
+        JSONArray page = new JSONArray();
+        for (int i = skip; i < matches.size() && i < skip + limit; i++) {
+            JSONObject entry = matches.get(i);
+            if (only != null) {
+                entry = QueryFilter.only(entry, (JSONArray) only);
+            }
+            page.put(except != null ? QueryFilter.except(entry, (JSONArray) except) : copy(entry));
+        }
+        JSONObject response = new JSONObject().put("entries", page);
+        if (Boolean.parseBoolean(String.valueOf(params.get("include_count")))) {
+            response.put("count", matches.size());
+        }
+        return response;
+    }
+
+    // the compiled conditions of the query, null without conditions
+    private Predicate<JSONObject> filter(Object query) {
+        if (!(query instanceof JSONObject) || ((JSONObject) query).length() == 0) {
+            return query == null || query instanceof JSONObject ? null : UNSUPPORTED;
+        }
+        String key = query.toString();
+        Predicate<JSONObject> filter = filters.get(key);
+        if (filter == null) {
+            try {
+                filter = QueryFilter.compile((JSONObject) query);
+            } catch (UnsupportedOperationException e) {
+                filter = UNSUPPORTED;
+            }
+            if (filters.size() >= MAX_FILTERS) {
+                filters.clear();
+            }
+            filters.put(key, filter);
+        }
+        return filter;
+    }
+
+    private static Comparator<JSONObject> order(Map<String, Object> params) {
+        if (params.containsKey("asc")) {
+            return QueryFilter.order(String.valueOf(params.get("asc")), true);
+        }
+        return QueryFilter.order(params.containsKey("desc") ? String.valueOf(params.get("desc")) : "updated_at",
+                false);
+    }
+
+    private static int intParam(Map<String, Object> params, String name, int defaultValue) {
+        Object value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    // the path segment after start, up to end or the end of the URL
+    private static String pathAfter(String url, String start, String end) {
+        int from = url.indexOf(start);
+        if (from < 0) {
+            return null;
+        }
+        from += start.length();
+        if (end == null) {
+            return url.substring(from);
+        }
+        return url.endsWith(end) && url.length() - end.length() > from
+                ? url.substring(from, url.length() - end.length())
+                : null;
+    }
+
+    private String locale(JSONObject data) {
+        String locale = itemLocale(data);
+        return locale != null ? locale : masterLocale;
+    }
+
+    // the locale of the item, null when it has none
+    private static String itemLocale(JSONObject data) {
+        String locale = data.optString("locale", null);
+        if (locale == null) {
+            JSONObject publishDetails = data.optJSONObject("publish_details");
+            locale = publishDetails != null ? publishDetails.optString("locale", null) : null;
+        }
+        return locale;
+    }
+
+    // removes the item from its locale, from every locale when the item has none
+    private static void remove(Map<String, Map<String, JSONObject>> locales, String uid, JSONObject data) {
+        if (locales == null || uid == null) {
+            return;
+        }
+        String locale = itemLocale(data);
+        if (locale != null) {
+            Map<String, JSONObject> localeItems = locales.get(locale);
+            if (localeItems != null) {
+                localeItems.remove(uid);
+            }
+            return;
+        }
+        for (Map<String, JSONObject> localeItems : locales.values()) {
+            localeItems.remove(uid);
+        }
+    }
+
+    private static JSONObject get(Map<String, Map<String, JSONObject>> locales, String locale, String uid) {
+        Map<String, JSONObject> localeItems = locales != null && uid != null ? locales.get(locale) : null;
+        return localeItems != null ? localeItems.get(uid) : null;
+    }
+
+    // the replica keeps its own objects, callers get shallow copies
+    private static JSONObject copy(JSONObject object) {
+        String[] names = JSONObject.getNames(object);
+        return names != null ? new JSONObject(object, names) : new JSONObject();
+    }
+}
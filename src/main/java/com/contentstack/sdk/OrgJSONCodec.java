@@ -0,0 +1,69 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * The default {@link JSONCodec}, decoding responses with org.json's
+ * {@link JSONTokener} straight from the body stream.
+ */
+public class OrgJSONCodec implements JSONCodec {
+
+    @Override
+    public JSONObject decode(Reader reader, String arrayKey, Consumer<JSONObject> visitor) {
+        JSONTokener tokener = new JSONTokener(reader);
+        JSONObject jsonObject = new JSONObject();
+        if (tokener.nextClean() != '{') {
+            throw tokener.syntaxError("A JSONObject text must begin with '{'");
+        }
+        char c = tokener.nextClean();
+        while (c != '}') {
+            if (c != '"') {
+                throw tokener.syntaxError("Expected a key");
+            }
+            String key = tokener.nextString('"');
+            if (tokener.nextClean() != ':') {
+                throw tokener.syntaxError("Expected a ':' after a key");
+            }
+            if (key.equals(arrayKey) && tokener.nextClean() == '[') {
+                jsonObject.put(key, readArray(tokener, visitor));
+            } else {
+                if (key.equals(arrayKey)) {
+                    tokener.back();
+                }
+                jsonObject.put(key, tokener.nextValue());
+            }
+            c = tokener.nextClean();
+            if (c == ',') {
+                c = tokener.nextClean();
+            } else if (c != '}') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+        return jsonObject;
+    }
+
+    private JSONArray readArray(JSONTokener tokener, Consumer<JSONObject> visitor) {
+        JSONArray array = new JSONArray();
+        char c = tokener.nextClean();
+        while (c != ']') {
+            tokener.back();
+            Object element = tokener.nextValue();
+            array.put(element);
+            if (element instanceof JSONObject) {
+                visitor.accept((JSONObject) element);
+            }
+            c = tokener.nextClean();
+            if (c == ',') {
+                c = tokener.nextClean();
+            } else if (c != ']') {
+                throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+        }
+        return array;
+    }
+}
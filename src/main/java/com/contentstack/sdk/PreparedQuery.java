@@ -0,0 +1,263 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.contentstack.sdk.Constants.*;
+
+/**
+ * A {@link Query} compiled once to run many times. The filters and the URL of
+ * the query are encoded when it is prepared, every request only encodes the
+ * values bound to its {@link Parameter}s. A prepared query is immutable:
+ * {@link #bind(String, Object)} and {@link #withDeadline(Deadline)} return a
+ * new prepared query sharing the compiled URL, so one prepared query can be
+ * used by all threads.
+ *
+ * <pre class="prettyprint">
+ * // once
+ * PreparedQuery byUrl = stack.contentType("page").query()
+ *         .where("url", PreparedQuery.param("url", String.class))
+ *         .locale(PreparedQuery.param("locale", String.class))
+ *         .includeReference("sections")
+ *         .prepare();
+ * // on every request
+ * byUrl.bind("url", "/about").bind("locale", "fr-fr").findOneAsync().thenAccept(page -&gt; render(page));
+ * </pre>
+ */
+public final class PreparedQuery {
+
+    private final Query results;
+    private final Stack stack;
+    private final String contentTypeUid;
+    private final LinkedHashMap<String, Object> headers;
+    private final Map<String, Class<?>> parameters;
+    private final URLBuilder.Template find;
+    private final URLBuilder.Template findOne;
+    // live preview requests are sent without the environment
+    private final URLBuilder.Template previewFind;
+    private final URLBuilder.Template previewFindOne;
+    private final Map<String, Object> values;
+    private final Deadline deadline;
+
+    PreparedQuery(Query query) {
+        this.stack = query.contentTypeInstance.stackInstance;
+        this.contentTypeUid = query.contentTypeUid;
+        synchronized (query.headers) {
+            this.headers = new LinkedHashMap<>(query.headers);
+        }
+        // the results are decoded by a query of their own, the prepared one may change
+        this.results = new Query(contentTypeUid);
+        this.results.setContentTypeInstance(query.contentTypeInstance);
+        this.results.headers = this.headers;
+        this.results.executor = query.executor;
+        String path = "content_types/" + contentTypeUid + "/entries";
+        LinkedHashMap<String, Object> params = query.requestParams();
+        LinkedHashMap<String, Object> single = new LinkedHashMap<>(params);
+        single.put(LIMIT, 1);
+        this.find = URLBuilder.compile(path, params);
+        this.findOne = URLBuilder.compile(path, single);
+        if (stack.config.enableLivePreview) {
+            params.remove(ENVIRONMENT);
+            single.remove(ENVIRONMENT);
+            this.previewFind = URLBuilder.compile(path, params);
+            this.previewFindOne = URLBuilder.compile(path, single);
+        } else {
+            this.previewFind = null;
+            this.previewFindOne = null;
+        }
+        this.parameters = Collections.unmodifiableMap(parametersOf(find.parameters()));
+        this.values = Collections.emptyMap();
+        this.deadline = query.deadline;
+    }
+
+    private PreparedQuery(PreparedQuery prepared, Map<String, Object> values, Deadline deadline) {
+        this.results = prepared.results;
+        this.stack = prepared.stack;
+        this.contentTypeUid = prepared.contentTypeUid;
+        this.headers = prepared.headers;
+        this.parameters = prepared.parameters;
+        this.find = prepared.find;
+        this.findOne = prepared.findOne;
+        this.previewFind = prepared.previewFind;
+        this.previewFindOne = prepared.previewFindOne;
+        this.values = values;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates a parameter, a placeholder for a value bound on every request. It
+     * can be used as the value of the filters of a query, like
+     * {@link Query#where(String, Object)} or
+     * {@link Query#lessThan(String, Object)}, and as the value of
+     * {@link Query#locale(Parameter)} and
+     * {@link Query#addParam(String, Parameter)}.
+     *
+     * @param name the name the value is bound to
+     * @param type the type of the value, like {@code String.class} or
+     *             {@code Integer.class}
+     * @return the parameter
+     */
+    public static Parameter param(@NotNull String name, @NotNull Class<?> type) {
+        if (type.isPrimitive()) {
+            throw new IllegalArgumentException("Use the wrapper of " + type + " as the type of " + name);
+        }
+        return new Parameter(name, type);
+    }
+
+    /**
+     * Returns a prepared query with the value bound to the parameter
+     *
+     * @param name  the name of the parameter
+     * @param value the value, an instance of the type of the parameter
+     * @return the prepared query with the value bound
+     * @throws IllegalArgumentException when the query has no such parameter or
+     *                                  the value has another type
+     */
+    public PreparedQuery bind(@NotNull String name, @NotNull Object value) {
+        Class<?> type = parameters.get(name);
+        if (type == null) {
+            throw new IllegalArgumentException("The query has no parameter " + name);
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException(
+                    "Parameter " + name + " is a " + type.getName() + ", not a " + value.getClass().getName());
+        }
+        Map<String, Object> bound = new HashMap<>(values);
+        bound.put(name, value);
+        return new PreparedQuery(this, Collections.unmodifiableMap(bound), deadline);
+    }
+
+    /**
+     * Returns a prepared query sending its requests with the deadline, see
+     * {@link Query#setDeadline(Deadline)}
+     *
+     * @param deadline the deadline
+     * @return the prepared query with the deadline
+     */
+    public PreparedQuery withDeadline(Deadline deadline) {
+        return new PreparedQuery(this, values, deadline);
+    }
+
+    /**
+     * Executes the query like {@link Query#find(QueryResultsCallBack)}
+     *
+     * @param callback notified when the request has completed
+     * @throws IllegalStateException when a parameter is not bound
+     */
+    public void find(QueryResultsCallBack callback) {
+        send(QUERYOBJECT, false, callback);
+    }
+
+    /**
+     * Executes the query like {@link Query#findAsync()}
+     *
+     * @return {@link CompletableFuture} of the {@link QueryResult}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails
+     * @throws IllegalStateException when a parameter is not bound
+     */
+    public CompletableFuture<QueryResult> findAsync() {
+        CompletableFuture<QueryResult> future = new CompletableFuture<>();
+        find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                ContentstackException.complete(future, queryresult, error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executes the query like {@link Query#findAsync(Class)}
+     *
+     * @param type class with a no-argument constructor the entries are bound to
+     * @param <T>  the bound type
+     * @return {@link CompletableFuture} of the bound entries
+     * @throws IllegalStateException when a parameter is not bound
+     */
+    public <T> CompletableFuture<List<T>> findAsync(@NotNull Class<T> type) {
+        return EntryBinder.ofAsync(type).thenCompose(
+                binder -> findAsync().thenApply(queryResult -> binder.bindAll(queryResult.getResultObjects())));
+    }
+
+    /**
+     * Executes the query like {@link Query#findOne(SingleQueryResultCallback)}
+     *
+     * @param callback notified when the request has completed
+     * @throws IllegalStateException when a parameter is not bound
+     */
+    public void findOne(SingleQueryResultCallback callback) {
+        send(SINGLEQUERYOBJECT, true, callback);
+    }
+
+    /**
+     * Executes the query like {@link Query#findOneAsync()}
+     *
+     * @return {@link CompletableFuture} of the {@link Entry}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails
+     * @throws IllegalStateException when a parameter is not bound
+     */
+    public CompletableFuture<Entry> findOneAsync() {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        findOne(new SingleQueryResultCallback() {
+            @Override
+            public void onCompletion(ResponseType responseType, Entry entry, Error error) {
+                ContentstackException.complete(future, entry, error);
+            }
+        });
+        return future;
+    }
+
+    private void send(String controller, boolean single, ResultCallBack callback) {
+        LinkedHashMap<String, Object> previewHeaders = previewFind != null
+                ? Query.livePreviewHeaders(stack.config, contentTypeUid, headers)
+                : null;
+        URLBuilder.Template template;
+        if (previewHeaders != null) {
+            template = single ? previewFindOne : previewFind;
+        } else {
+            template = single ? findOne : find;
+        }
+        String url = template.expand(values);
+        new CSBackgroundTask(results, stack, controller, url, previewHeaders != null ? previewHeaders : headers,
+                deadline, callback);
+    }
+
+    private static Map<String, Class<?>> parametersOf(List<Parameter> parameters) {
+        Map<String, Class<?>> types = new HashMap<>();
+        for (Parameter parameter : parameters) {
+            Class<?> type = types.putIfAbsent(parameter.name, parameter.type);
+            if (type != null && type != parameter.type) {
+                throw new IllegalStateException("Parameter " + parameter.name + " is used with two types");
+            }
+        }
+        return types;
+    }
+
+    /**
+     * A placeholder in a query for a value bound on every request, see
+     * {@link PreparedQuery#param(String, Class)}
+     */
+    public static final class Parameter {
+
+        final String name;
+        final Class<?> type;
+
+        private Parameter(String name, Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return "?" + name;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.contentstack.sdk;
 
+import io.reactivex.rxjava3.core.Single;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.contentstack.sdk.Constants.*;
 
@@ -17,8 +24,13 @@ import static com.contentstack.sdk.Constants.*;
 public class Query implements INotifyClass {
 
     protected static final Logger logger = Logger.getLogger(Query.class.getSimpleName());
+    // the Content Delivery API returns at most 100 entries per request
+    private static final int MAX_PAGE_SIZE = 100;
     protected ContentType contentTypeInstance = null;
     protected LinkedHashMap<String, Object> headers = null;
+    protected Deadline deadline;
+    // sends the requests of this query instead of the executor of the config when set
+    protected Executor executor;
     protected JSONObject urlQueries;
     protected JSONObject mainJSON;
     protected String contentTypeUid;
@@ -92,6 +104,27 @@ public class Query implements INotifyClass {
         }
     }
 
+    /**
+     * Sets the deadline of the requests of this query. A request still running when
+     * the deadline expires is cancelled and fails with an {@link Error} of code
+     * 408, its retries only get the time left. Without a deadline, only the
+     * timeouts of the {@link Config} apply.
+     *
+     * @param deadline the deadline, see {@link Deadline}
+     * @return Query <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         Query query = stack.contentType("contentTypeUid").query();
+     *         query.setDeadline(Deadline.after(150, TimeUnit.MILLISECONDS)).find(callback);
+     *         </pre>
+     */
+    public Query setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     public String getContentType() {
         return contentTypeInstance.contentTypeUid;
     }
@@ -1055,6 +1088,18 @@ public class Query implements INotifyClass {
         return this;
     }
 
+    /**
+     * Sets the locale of a {@link PreparedQuery} as a parameter bound on every
+     * request.
+     *
+     * @param locale the parameter of the locale
+     * @return {@link Query} object, so you can chain this call.
+     */
+    public Query locale(@NotNull PreparedQuery.Parameter locale) {
+        urlQueries.put("locale", locale);
+        return this;
+    }
+
     /**
      * This method provides only the entries matching the specified value.
      *
@@ -1115,9 +1160,232 @@ public class Query implements INotifyClass {
             error = new Error();
             error.setErrorMessage(errorString);
         }
+        if (error != null && callback != null) {
+            callback.onRequestFail(ResponseType.UNKNOWN, error);
+        }
         return this;
     }
 
+    /**
+     * Executes the Query like {@link #find(QueryResultsCallBack)} and returns a
+     * future of its result instead of notifying a callback. Futures of several
+     * queries can be combined, e.g. with {@link CompletableFuture#allOf}, to run
+     * them in parallel.
+     *
+     * @return {@link CompletableFuture} of the {@link QueryResult}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query();<br>
+     *          csQuery.findAsync().thenAccept(queryResult -&gt; {<br>
+     *          });<br>
+     *         </pre>
+     */
+    public CompletableFuture<QueryResult> findAsync() {
+        CompletableFuture<QueryResult> future = new CompletableFuture<>();
+        find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                ContentstackException.complete(future, queryresult, error);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Executes the Query like {@link #findAsync()} and binds every resulting
+     * entry to an instance of the given class. Fields are matched by name or by
+     * {@link EntryField}; the binder of a class is compiled on first use and
+     * reused afterwards.
+     *
+     * @param type class with a no-argument constructor the entries are bound to
+     * @param <T>  the bound type
+     * @return {@link CompletableFuture} of the bound entries, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails, or with an {@link IllegalArgumentException} when the class
+     *         can not be bound. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("product").query();<br>
+     *          csQuery.findAsync(Product.class).thenAccept(products -&gt; {<br>
+     *          });<br>
+     *         </pre>
+     */
+    public <T> CompletableFuture<List<T>> findAsync(@NotNull Class<T> type) {
+        return EntryBinder.ofAsync(type).thenCompose(
+                binder -> findAsync().thenApply(queryResult -> binder.bindAll(queryResult.getResultObjects())));
+    }
+
+    /**
+     * Iterates lazily over all entries matching the Query, requesting them page
+     * by page with skip and limit. The next page is requested in the background
+     * while the current one is consumed, at most two pages are held at a time.
+     * The Query must not be changed while it is iterated.
+     *
+     * @return {@link Iterator} over the matching entries, its methods throw a
+     *         {@link ContentstackException} when a page request fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query().ascending("created_at");<br>
+     *          Iterator&lt;Entry&gt; entries = csQuery.iterate();<br>
+     *         </pre>
+     */
+    public Iterator<Entry> iterate() {
+        return iterate(MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Iterates lazily over all entries matching the Query like
+     * {@link #iterate()}, with pages of the given size.
+     *
+     * @param pageSize the number of entries per request, from 1 to 100
+     * @return {@link Iterator} over the matching entries
+     */
+    public Iterator<Entry> iterate(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return new QueryIterator(this, pageSize);
+    }
+
+    /**
+     * Streams all entries matching the Query, see {@link #iterate()}.
+     *
+     * @return sequential {@link Stream} of the matching entries <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query().ascending("created_at");<br>
+     *          csQuery.stream().map(Entry::getTitle).forEach(System.out::println);<br>
+     *         </pre>
+     */
+    public Stream<Entry> stream() {
+        return stream(MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Streams all entries matching the Query with pages of the given size, see
+     * {@link #iterate(int)}.
+     *
+     * @param pageSize the number of entries per request, from 1 to 100
+     * @return sequential {@link Stream} of the matching entries
+     */
+    public Stream<Entry> stream(int pageSize) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterate(pageSize),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Fetches all entries matching the Query with concurrent requests. A first
+     * request with include_count tells how many entries match, the remaining
+     * pages are then requested with at most parallelism requests in flight and
+     * merged in the order of the Query.
+     *
+     * @param parallelism the maximum number of concurrent page requests
+     * @return {@link CompletableFuture} of the {@link QueryResult} with all
+     *         entries, completed exceptionally with a
+     *         {@link ContentstackException} when a page request fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query().ascending("created_at");<br>
+     *          csQuery.findAllAsync(8).thenAccept(queryResult -&gt; {<br>
+     *          });<br>
+     *         </pre>
+     */
+    public CompletableFuture<QueryResult> findAllAsync(int parallelism) {
+        return fanOut(parallelism).collect();
+    }
+
+    /**
+     * Fetches all entries matching the Query like {@link #findAllAsync(int)}, but
+     * hands every page to the consumer as soon as it is received instead of
+     * merging them. Pages arrive in no particular order, the consumer is never
+     * called concurrently.
+     *
+     * @param parallelism  the maximum number of concurrent page requests
+     * @param pageConsumer receives the {@link QueryResult} of every page
+     * @return {@link CompletableFuture} completed once all pages have been
+     *         consumed, or exceptionally with a {@link ContentstackException} when
+     *         a page request fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query();<br>
+     *          csQuery.findAllAsync(8, page -&gt; index(page.getResultObjects())).join();<br>
+     *         </pre>
+     */
+    public CompletableFuture<Void> findAllAsync(int parallelism, @NotNull Consumer<QueryResult> pageConsumer) {
+        return fanOut(parallelism).forEachPage(pageConsumer);
+    }
+
+    private QueryFanOut fanOut(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        return new QueryFanOut(this, parallelism, MAX_PAGE_SIZE);
+    }
+
+    // requests a single page on the executor, the parameters of the query are left
+    // as they were once the request has been built
+    synchronized CompletableFuture<QueryResult> findPageAsync(int skip, int limit, boolean includeCount,
+            Executor pageExecutor) {
+        Object previousSkip = urlQueries.opt("skip");
+        Object previousLimit = urlQueries.opt(LIMIT);
+        Object previousCount = urlQueries.opt("include_count");
+        Executor previousExecutor = executor;
+        urlQueries.put("skip", skip);
+        urlQueries.put(LIMIT, limit);
+        if (includeCount) {
+            urlQueries.put("include_count", true);
+        }
+        executor = pageExecutor;
+        try {
+            return findAsync();
+        } finally {
+            urlQueries.put("skip", previousSkip);
+            urlQueries.put(LIMIT, previousLimit);
+            urlQueries.put("include_count", previousCount);
+            executor = previousExecutor;
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #find(QueryResultsCallBack)}. The Query is
+     * executed on every subscription.
+     *
+     * @return {@link Single} emitting the {@link QueryResult}, or a
+     *         {@link ContentstackException} when the request fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query();<br>
+     *          csQuery.rxFind().subscribe(queryResult -&gt; {<br>
+     *          });<br>
+     *         </pre>
+     */
+    public Single<QueryResult> rxFind() {
+        return Single.defer(() -> Single.fromCompletionStage(findAsync()));
+    }
+
     /**
      * Execute a Query and Caches its result (Optional)
      *
@@ -1141,7 +1409,7 @@ public class Query implements INotifyClass {
      *         </pre>
      */
     public Query findOne(SingleQueryResultCallback callBack) {
-
+        Error error = null;
         if (isJsonProper) {
             if (!contentTypeUid.isEmpty()) {
                 int limit = -1;
@@ -1157,11 +1425,47 @@ public class Query implements INotifyClass {
                 }
             } else {
                 throwException("find", Constants.CONTENT_TYPE_NAME, null);
+                error = new Error();
+                error.setErrorMessage(errorString);
             }
+        } else {
+            error = new Error();
+            error.setErrorMessage(errorString);
+        }
+        if (error != null && callBack != null) {
+            callBack.onRequestFail(ResponseType.UNKNOWN, error);
         }
         return this;
     }
 
+    /**
+     * Executes the Query like {@link #findOne(SingleQueryResultCallback)} and
+     * returns a future of the first matching entry.
+     *
+     * @return {@link CompletableFuture} of the {@link Entry}, completed
+     *         exceptionally with a {@link ContentstackException} when the request
+     *         fails. <br>
+     *         <br>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *          Stack stack = Contentstack.stack( "apiKey", "deliveryToken", "environment");
+     *          Query csQuery = stack.contentType("contentTypeUid").query();<br>
+     *          csQuery.findOneAsync().thenAccept(entry -&gt; {<br>
+     *          });<br>
+     *         </pre>
+     */
+    public CompletableFuture<Entry> findOneAsync() {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        findOne(new SingleQueryResultCallback() {
+            @Override
+            public void onCompletion(ResponseType responseType, Entry entry, Error error) {
+                ContentstackException.complete(future, entry, error);
+            }
+        });
+        return future;
+    }
+
     private void throwException(String queryName, String messageString, Exception e) {
         HashMap<String, Object> errorHashMap = new HashMap<>();
         isJsonProper = false;
@@ -1206,42 +1510,143 @@ public class Query implements INotifyClass {
             singleQueryResultCallback = callBack;
             setQueryJson();
             urlQueries.put(Constants.ENVIRONMENT, this.headers.get(Constants.ENVIRONMENT));
-            includeLivePreview();
+            LinkedHashMap<String, Object> requestHeaders = includeLivePreview();
             mainJSON.put(QUERY, urlQueries);
-            fetchFromNetwork(urlString, mainJSON, callback, callBack);
+            fetchFromNetwork(urlString, mainJSON, requestHeaders, callback, callBack);
         } catch (Exception e) {
             logger.severe(e.getLocalizedMessage());
             throwException("find", Constants.QUERY_EXCEPTION, e);
+            // the request was never sent, the callback still completes
+            Error error = new Error();
+            error.setErrorMessage(e.getLocalizedMessage() != null ? e.getLocalizedMessage() : errorString);
+            ResultCallBack resultCallBack = callBack != null ? callBack : callback;
+            if (resultCallBack != null) {
+                resultCallBack.onRequestFail(ResponseType.UNKNOWN, error);
+            }
         }
-
     }
 
-    private void includeLivePreview() {
-        Config configInstance = contentTypeInstance.stackInstance.config;
-        if (configInstance.enableLivePreview
-                && configInstance.livePreviewContentType.equalsIgnoreCase(contentTypeUid)) {
-            configInstance.setHost(configInstance.livePreviewHost); // Check host and replace with new host
-            this.headers.remove("access_token");
+    // the live preview headers are set on a copy for this request, the query and
+    // the shared config stay untouched
+    private LinkedHashMap<String, Object> includeLivePreview() {
+        LinkedHashMap<String, Object> requestHeaders = livePreviewHeaders(contentTypeInstance.stackInstance.config,
+                contentTypeUid, this.headers);
+        if (requestHeaders != null) {
             urlQueries.remove(Constants.ENVIRONMENT);
-            this.headers.remove(Constants.ENVIRONMENT);
-            if (configInstance.livePreviewHash == null || configInstance.livePreviewHash.isEmpty()) {
-                configInstance.livePreviewHash = "init";
-            }
-            this.headers.put("live_preview", configInstance.livePreviewHash);
-            this.headers.put("authorization", configInstance.managementToken);
+            return requestHeaders;
         }
+        return this.headers;
+    }
+
+    // the headers of a live preview request of the content type, null when it is not previewed
+    static LinkedHashMap<String, Object> livePreviewHeaders(Config configInstance, String contentTypeUid,
+            LinkedHashMap<String, Object> headers) {
+        String livePreviewContentType = configInstance.livePreviewContentType;
+        if (!configInstance.enableLivePreview || livePreviewContentType == null
+                || !livePreviewContentType.equalsIgnoreCase(contentTypeUid)) {
+            return null;
+        }
+        LinkedHashMap<String, Object> requestHeaders = new LinkedHashMap<>(headers);
+        requestHeaders.remove("access_token");
+        requestHeaders.remove(Constants.ENVIRONMENT);
+        String livePreviewHash = configInstance.livePreviewHash;
+        if (livePreviewHash == null || livePreviewHash.isEmpty()) {
+            livePreviewHash = "init";
+        }
+        requestHeaders.put("live_preview", livePreviewHash);
+        requestHeaders.put("authorization", configInstance.managementToken);
+        return requestHeaders;
+    }
+
+    // the parameters find sends, built without changing the query
+    synchronized LinkedHashMap<String, Object> requestParams() {
+        LinkedHashMap<String, Object> params = new LinkedHashMap<>();
+        for (String key : urlQueries.keySet()) {
+            params.put(key, urlQueries.opt(key));
+        }
+        if (queryValueJSON != null && queryValueJSON.length() > 0) {
+            params.put(QUERY, queryValueJSON);
+        }
+        putIfNotEmpty(params, "except[BASE][]", objectUidForExcept);
+        putIfNotEmpty(params, "only[BASE][]", objectUidForOnly);
+        if (onlyJsonObject != null && onlyJsonObject.length() > 0) {
+            params.put("only", onlyJsonObject);
+        }
+        if (exceptJsonObject != null && exceptJsonObject.length() > 0) {
+            params.put(EXCEPT, exceptJsonObject);
+        }
+        putIfNotEmpty(params, "include[]", objectUidForInclude);
+        params.put(Constants.ENVIRONMENT, this.headers.get(Constants.ENVIRONMENT));
+        return params;
+    }
+
+    private static void putIfNotEmpty(Map<String, Object> params, String key, JSONArray array) {
+        if (array != null && array.length() > 0) {
+            params.put(key, array);
+        }
+    }
+
+    /**
+     * Compiles the query into a {@link PreparedQuery}. Its URL is built once,
+     * values that change between requests are {@link PreparedQuery.Parameter}s
+     * bound on every request. The prepared query is immutable and can be used
+     * by several threads, later changes of this query don't reach it.
+     *
+     * <pre class="prettyprint">
+     * PreparedQuery byUrl = stack.contentType("page").query()
+     *         .where("url", PreparedQuery.param("url", String.class))
+     *         .locale(PreparedQuery.param("locale", String.class))
+     *         .prepare();
+     * byUrl.bind("url", "/about").bind("locale", "fr-fr").findOneAsync();
+     * </pre>
+     *
+     * @return the {@link PreparedQuery}
+     * @throws IllegalStateException when the query is invalid
+     */
+    public PreparedQuery prepare() {
+        if (!isJsonProper) {
+            throw new IllegalStateException(errorString);
+        }
+        if (contentTypeUid == null || contentTypeUid.isEmpty()) {
+            throw new IllegalStateException(Constants.CONTENT_TYPE_NAME);
+        }
+        return new PreparedQuery(this);
+    }
+
+    /**
+     * Compiles the conditions of the query into a predicate evaluating them
+     * locally, with the semantics of the server. Regexes are compiled and
+     * numbers unboxed once, the predicate can then test many entries, like the
+     * entries of a cache. Later conditions of the query don't reach it.
+     *
+     * <pre class="prettyprint">
+     * Predicate&lt;Entry&gt; recent = stack.contentType("blog").query()
+     *         .greaterThan("published_at", "2024-01-01")
+     *         .regex("title", "^java", "i")
+     *         .predicate();
+     * List&lt;Entry&gt; posts = cached.stream().filter(recent).collect(Collectors.toList());
+     * </pre>
+     *
+     * @return the predicate, false for entries without their JSON
+     * @throws UnsupportedOperationException when a condition can't be evaluated
+     *                                       locally, like a condition on
+     *                                       referenced entries
+     */
+    public synchronized Predicate<Entry> predicate() {
+        Predicate<JSONObject> filter = QueryFilter.compile(new JSONObject(queryValueJSON.toString()));
+        return entry -> entry.toJSON() != null && filter.test(entry.toJSON());
     }
 
     // fetch from network.
-    private void fetchFromNetwork(String urlString, JSONObject jsonMain, ResultCallBack callback,
-            SingleQueryResultCallback resultCallback) {
+    private void fetchFromNetwork(String urlString, JSONObject jsonMain, LinkedHashMap<String, Object> headers,
+            ResultCallBack callback, SingleQueryResultCallback resultCallback) {
         LinkedHashMap<String, Object> urlParams = getUrlParams(jsonMain);
         if (resultCallback != null) {
             new CSBackgroundTask(this, contentTypeInstance.stackInstance, Constants.SINGLEQUERYOBJECT, urlString,
-                    this.headers, urlParams, Constants.REQUEST_CONTROLLER.QUERY.toString(), resultCallback);
+                    headers, urlParams, Constants.REQUEST_CONTROLLER.QUERY.toString(), resultCallback);
         } else {
             new CSBackgroundTask(this, contentTypeInstance.stackInstance, Constants.QUERYOBJECT, urlString,
-                    this.headers, urlParams, Constants.REQUEST_CONTROLLER.QUERY.toString(), callback);
+                    headers, urlParams, Constants.REQUEST_CONTROLLER.QUERY.toString(), callback);
         }
     }
 
@@ -1266,16 +1671,23 @@ public class Query implements INotifyClass {
 
     @Override
     public void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry) {
+        getResultObject(objects, jsonObject, isSingleEntry,
+                isSingleEntry ? singleQueryResultCallback : queryResultCallback, ResponseType.NETWORK);
+    }
+
+    // notifies the callback of the request the result belongs to, several requests
+    // of the query can be in flight
+    protected void getResultObject(List<Object> objects, JSONObject jsonObject, boolean isSingleEntry,
+            ResultCallBack callback, ResponseType responseType) {
         List<Entry> objectList = new ArrayList<>();
         int countObject = objects.size();
+        // the entries of a result share one content type, each gets its own copy of its
+        // header snapshot so setHeader on one entry doesn't reach its siblings
+        ContentType resultType = new ContentType(contentTypeUid);
+        resultType.setStackInstance(contentTypeInstance.stackInstance);
         for (int i = 0; i < countObject; i++) {
-            Entry entry = null;
-            try {
-                entry = contentTypeInstance.stackInstance.contentType(contentTypeUid)
-                        .entry(((EntryModel) objects.get(i)).uid);
-            } catch (Exception e) {
-                entry = new Entry(contentTypeUid);
-            }
+            Entry entry = new Entry(contentTypeUid);
+            entry.setContentType(resultType, new LinkedHashMap<>(resultType.headers));
             entry.setUid(((EntryModel) objects.get(i)).uid);
             entry.resultJson = ((EntryModel) objects.get(i)).jsonObject;
             entry.title = ((EntryModel) objects.get(i)).title;
@@ -1289,14 +1701,14 @@ public class Query implements INotifyClass {
             if (!objectList.isEmpty()) {
                 entry = objectList.get(0);
             }
-            if (singleQueryResultCallback != null) {
-                singleQueryResultCallback.onRequestFinish(ResponseType.NETWORK, entry);
+            if (callback instanceof SingleQueryResultCallback) {
+                ((SingleQueryResultCallback) callback).onRequestFinish(responseType, entry);
             }
         } else {
             QueryResult queryResultObject = new QueryResult();
             queryResultObject.setJSON(jsonObject, objectList);
-            if (queryResultCallback != null) {
-                queryResultCallback.onRequestFinish(ResponseType.NETWORK, queryResultObject);
+            if (callback instanceof QueryResultsCallBack) {
+                ((QueryResultsCallBack) callback).onRequestFinish(responseType, queryResultObject);
             }
         }
 
@@ -1329,6 +1741,19 @@ public class Query implements INotifyClass {
         return this;
     }
 
+    /**
+     * Adds a URL parameter whose value is a parameter of a
+     * {@link PreparedQuery}, bound on every request.
+     *
+     * @param paramKey   the key of the URL parameter
+     * @param paramValue the parameter
+     * @return {@link Query} object, so you can chain this call.
+     */
+    public Query addParam(@NotNull String paramKey, @NotNull PreparedQuery.Parameter paramValue) {
+        urlQueries.put(paramKey, paramValue);
+        return this;
+    }
+
     /**
      * This method also includes the content type UIDs of the referenced entries
      * returned in the response
@@ -0,0 +1,145 @@
+package com.contentstack.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fetches all entries matching a {@link Query} with concurrent page requests.
+ * The first page is requested with include_count, the count tells the offsets
+ * of the remaining pages, which are then requested with at most parallelism
+ * requests in flight.
+ */
+final class QueryFanOut {
+
+    private final Query query;
+    private final int parallelism;
+    private final int pageSize;
+    private final Executor executor;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private final AtomicInteger nextPage = new AtomicInteger(1);
+    private AtomicInteger pendingPages;
+    private int skip;
+    private int total;
+    private int pageCount;
+    private PageHandler handler;
+
+    QueryFanOut(Query query, int parallelism, int pageSize) {
+        this.query = query;
+        this.parallelism = parallelism;
+        this.pageSize = pageSize;
+        this.executor = query.contentTypeInstance.stackInstance.backgroundExecutor();
+    }
+
+    /**
+     * Fetches all pages and merges their entries in the order of the query.
+     */
+    CompletableFuture<QueryResult> collect() {
+        List<QueryResult> pages = new ArrayList<>();
+        return run((index, page) -> {
+            synchronized (pages) {
+                while (pages.size() <= index) {
+                    pages.add(null);
+                }
+                pages.set(index, page);
+            }
+        }).thenApply(ignored -> merge(pages));
+    }
+
+    /**
+     * Fetches all pages and hands every page to the consumer once it has been
+     * received, in no particular order. The consumer is never called
+     * concurrently.
+     */
+    CompletableFuture<Void> forEachPage(Consumer<QueryResult> pageConsumer) {
+        Object lock = new Object();
+        return run((index, page) -> {
+            synchronized (lock) {
+                pageConsumer.accept(page);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> run(PageHandler pageHandler) {
+        this.handler = pageHandler;
+        this.skip = query.urlQueries.optInt("skip", 0);
+        int limit = query.urlQueries.has(Constants.LIMIT) ? query.urlQueries.optInt(Constants.LIMIT)
+                : Integer.MAX_VALUE;
+        query.findPageAsync(skip, Math.min(pageSize, limit), true, executor).whenComplete((first, error) -> {
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            total = Math.min(Math.max(first.getCount() - skip, 0), limit);
+            pageCount = Math.max(1, (total + pageSize - 1) / pageSize);
+            pendingPages = new AtomicInteger(pageCount - 1);
+            if (!handle(0, first)) {
+                return;
+            }
+            if (pageCount == 1) {
+                done.complete(null);
+                return;
+            }
+            for (int i = 0; i < Math.min(parallelism, pageCount - 1); i++) {
+                requestNextPage();
+            }
+        });
+        return done;
+    }
+
+    private void requestNextPage() {
+        int index = nextPage.getAndIncrement();
+        if (index >= pageCount || done.isDone()) {
+            return;
+        }
+        int offset = index * pageSize;
+        query.findPageAsync(skip + offset, Math.min(pageSize, total - offset), false, executor)
+                .whenCompleteAsync((page, error) -> {
+                    if (error != null) {
+                        fail(error);
+                    } else if (handle(index, page)) {
+                        if (pendingPages.decrementAndGet() == 0) {
+                            done.complete(null);
+                        } else {
+                            requestNextPage();
+                        }
+                    }
+                }, executor);
+    }
+
+    private boolean handle(int index, QueryResult page) {
+        try {
+            handler.accept(index, page);
+            return true;
+        } catch (RuntimeException e) {
+            fail(e);
+            return false;
+        }
+    }
+
+    private void fail(Throwable error) {
+        done.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+    }
+
+    private static QueryResult merge(List<QueryResult> pages) {
+        List<Entry> entries = new ArrayList<>();
+        for (QueryResult page : pages) {
+            if (page.getResultObjects() != null) {
+                entries.addAll(page.getResultObjects());
+            }
+        }
+        QueryResult merged = new QueryResult();
+        merged.setJSON(pages.get(0).receiveJson, entries);
+        return merged;
+    }
+
+    @FunctionalInterface
+    private interface PageHandler {
+        void accept(int index, QueryResult page);
+    }
+}
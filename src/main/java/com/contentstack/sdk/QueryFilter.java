@@ -0,0 +1,673 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Evaluates the conditions of a {@link Query} against entries in memory, with
+ * the semantics of the Content Delivery API:
+ * <ul>
+ * <li>a field is addressed by its path, like {@code author.name}, and a
+ * condition on a field holding an array matches when one of the elements
+ * matches;</li>
+ * <li>numbers are compared by value, strings by code point, a comparison
+ * between values of different types never matches;</li>
+ * <li>{@code $ne} and {@code $nin} match entries without the field, an
+ * equality with null matches a missing field.</li>
+ * </ul>
+ * The filter is compiled once: field paths are split, regexes compiled and
+ * numbers kept as primitives. Conditions it can't evaluate locally, like
+ * {@code $in_query} on references, throw {@link UnsupportedOperationException}
+ * when compiled.
+ */
+final class QueryFilter {
+
+    private QueryFilter() {
+    }
+
+    /**
+     * Compiles the conditions, the value of the query parameter
+     *
+     * @throws UnsupportedOperationException when a condition has no local
+     *                                       evaluation
+     */
+    static Predicate<JSONObject> compile(JSONObject query) {
+        List<Predicate<JSONObject>> conditions = new ArrayList<>();
+        for (String key : query.keySet()) {
+            Object value = query.opt(key);
+            if ("$and".equals(key) || "$or".equals(key)) {
+                conditions.add(compileAll(key, value));
+            } else if (key.startsWith("$")) {
+                throw new UnsupportedOperationException("Operator " + key + " is not supported");
+            } else {
+                conditions.add(compileField(key, value));
+            }
+        }
+        return all(conditions);
+    }
+
+    /**
+     * Returns the order of the entries by the field, in the order of BSON types
+     * like the server: missing and null values, then numbers, strings, objects,
+     * arrays and booleans. Entries alike are ordered by uid, so the pages of a
+     * query don't overlap.
+     */
+    static Comparator<JSONObject> order(String field, boolean ascending) {
+        String[] path = field.split("\\.");
+        Comparator<JSONObject> byField = (first, second) -> compareValues(sortKey(first, path, ascending),
+                sortKey(second, path, ascending));
+        if (!ascending) {
+            byField = byField.reversed();
+        }
+        return byField.thenComparing(entry -> entry.optString("uid"));
+    }
+
+    /**
+     * Returns the entry with only the fields at the paths, and its uid
+     */
+    static JSONObject only(JSONObject entry, JSONArray fields) {
+        JSONObject projected = new JSONObject();
+        if (entry.has("uid")) {
+            projected.put("uid", entry.opt("uid"));
+        }
+        for (int i = 0; i < fields.length(); i++) {
+            copyPath(entry, projected, fields.optString(i).split("\\."), 0);
+        }
+        return projected;
+    }
+
+    /**
+     * Returns the entry without the fields at the paths, the uid is kept
+     */
+    static JSONObject except(JSONObject entry, JSONArray fields) {
+        JSONObject projected = copy(entry);
+        for (int i = 0; i < fields.length(); i++) {
+            String[] path = fields.optString(i).split("\\.");
+            if (path.length != 1 || !"uid".equals(path[0])) {
+                removePath(projected, path, 0);
+            }
+        }
+        return projected;
+    }
+
+    private static Predicate<JSONObject> compileAll(String operator, Object value) {
+        if (!(value instanceof JSONArray)) {
+            throw new UnsupportedOperationException(operator + " needs an array of conditions");
+        }
+        JSONArray array = (JSONArray) value;
+        List<Predicate<JSONObject>> conditions = new ArrayList<>();
+        for (int i = 0; i < array.length(); i++) {
+            Object condition = array.opt(i);
+            if (!(condition instanceof JSONObject)) {
+                throw new UnsupportedOperationException(operator + " needs an array of conditions");
+            }
+            conditions.add(compile((JSONObject) condition));
+        }
+        return "$and".equals(operator) ? all(conditions) : any(conditions);
+    }
+
+    private static Predicate<JSONObject> compileField(String key, Object value) {
+        String[] path = key.split("\\.");
+        if (!(value instanceof JSONObject) || !isOperators((JSONObject) value)) {
+            return new FieldTest(path, new Equals(value));
+        }
+        JSONObject operators = (JSONObject) value;
+        List<Predicate<JSONObject>> conditions = new ArrayList<>();
+        for (String operator : operators.keySet()) {
+            Object operand = operators.opt(operator);
+            switch (operator) {
+            case "$lt":
+            case "$lte":
+            case "$gt":
+            case "$gte":
+                conditions.add(new FieldTest(path, new Compare(operator, operand)));
+                break;
+            case "$ne":
+                conditions.add(new FieldTest(path, new Equals(operand)).negate());
+                break;
+            case "$in":
+                conditions.add(new FieldTest(path, new In(array(operator, operand))));
+                break;
+            case "$nin":
+                conditions.add(new FieldTest(path, new In(array(operator, operand))).negate());
+                break;
+            case "$exists":
+                Predicate<JSONObject> exists = new FieldTest(path, Exists.INSTANCE);
+                conditions.add(truthy(operand) ? exists : exists.negate());
+                break;
+            case "$regex":
+                conditions.add(new FieldTest(path, new Regex(String.valueOf(operand),
+                        operators.optString("$options", ""))));
+                break;
+            case "$options":
+                if (!operators.has("$regex")) {
+                    throw new UnsupportedOperationException("$options needs a $regex");
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Operator " + operator + " is not supported");
+            }
+        }
+        return all(conditions);
+    }
+
+    // an object of operators, like {"$gt": 5}, or a value to compare the field to
+    private static boolean isOperators(JSONObject value) {
+        boolean operators = false;
+        boolean fields = false;
+        for (String key : value.keySet()) {
+            if (key.startsWith("$")) {
+                operators = true;
+            } else {
+                fields = true;
+            }
+        }
+        if (operators && fields) {
+            throw new UnsupportedOperationException("Operators and fields can't be mixed in " + value);
+        }
+        return operators;
+    }
+
+    private static JSONArray array(String operator, Object operand) {
+        if (!(operand instanceof JSONArray)) {
+            throw new UnsupportedOperationException(operator + " needs an array");
+        }
+        return (JSONArray) operand;
+    }
+
+    private static boolean truthy(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        return value != null && value != JSONObject.NULL && !"false".equals(value);
+    }
+
+    private static Predicate<JSONObject> all(List<Predicate<JSONObject>> conditions) {
+        if (conditions.size() == 1) {
+            return conditions.get(0);
+        }
+        Predicate<JSONObject>[] array = toArray(conditions);
+        return entry -> {
+            for (Predicate<JSONObject> condition : array) {
+                if (!condition.test(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static Predicate<JSONObject> any(List<Predicate<JSONObject>> conditions) {
+        Predicate<JSONObject>[] array = toArray(conditions);
+        return entry -> {
+            for (Predicate<JSONObject> condition : array) {
+                if (condition.test(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate<JSONObject>[] toArray(List<Predicate<JSONObject>> conditions) {
+        return conditions.toArray(new Predicate[0]);
+    }
+
+    private static boolean isNull(Object value) {
+        return value == null || value == JSONObject.NULL;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64);
+    }
+
+    // the order of BSON types the server sorts by
+    private static int typeRank(Object value) {
+        if (isNull(value)) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return 1;
+        }
+        if (value instanceof String) {
+            return 2;
+        }
+        if (value instanceof JSONObject) {
+            return 3;
+        }
+        if (value instanceof JSONArray) {
+            return 4;
+        }
+        if (value instanceof Boolean) {
+            return 5;
+        }
+        return 2;
+    }
+
+    private static int compareValues(Object first, Object second) {
+        int firstRank = typeRank(first);
+        int secondRank = typeRank(second);
+        if (firstRank != secondRank) {
+            return Integer.compare(firstRank, secondRank);
+        }
+        switch (firstRank) {
+        case 0:
+            return 0;
+        case 1:
+            return compareNumbers((Number) first, (Number) second);
+        case 5:
+            return Boolean.compare((Boolean) first, (Boolean) second);
+        default:
+            return compareStrings(String.valueOf(first), String.valueOf(second));
+        }
+    }
+
+    private static int compareNumbers(Number first, Number second) {
+        if (isIntegral(first) && isIntegral(second)) {
+            return Long.compare(first.longValue(), second.longValue());
+        }
+        if (first instanceof BigDecimal && second instanceof BigDecimal) {
+            return ((BigDecimal) first).compareTo((BigDecimal) second);
+        }
+        double a = first.doubleValue();
+        double b = second.doubleValue();
+        return a < b ? -1 : (a > b ? 1 : 0);
+    }
+
+    // UTF-8 byte order, like the server, differs from String.compareTo around surrogates
+    private static int compareStrings(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            char a = first.charAt(i);
+            char b = second.charAt(i);
+            if (a != b) {
+                boolean aSurrogate = Character.isSurrogate(a);
+                if (aSurrogate != Character.isSurrogate(b)) {
+                    // a surrogate stands for a code point above every other char
+                    return aSurrogate ? 1 : -1;
+                }
+                return a - b;
+            }
+        }
+        return first.length() - second.length();
+    }
+
+    private static boolean equalValues(Object first, Object second) {
+        if (isNull(first) || isNull(second)) {
+            return isNull(first) && isNull(second);
+        }
+        if (first instanceof Number && second instanceof Number) {
+            return compareNumbers((Number) first, (Number) second) == 0;
+        }
+        if (first instanceof JSONObject && second instanceof JSONObject) {
+            return ((JSONObject) first).similar(second);
+        }
+        if (first instanceof JSONArray && second instanceof JSONArray) {
+            return ((JSONArray) first).similar(second);
+        }
+        return first.equals(second);
+    }
+
+    // the value at the path, an array sorts by its smallest element ascending and its largest descending
+    private static Object sortKey(JSONObject entry, String[] path, boolean ascending) {
+        Object node = entry;
+        for (String name : path) {
+            if (node instanceof JSONArray) {
+                node = ((JSONArray) node).length() > 0 ? ((JSONArray) node).opt(0) : null;
+            }
+            if (!(node instanceof JSONObject)) {
+                return null;
+            }
+            node = ((JSONObject) node).opt(name);
+        }
+        if (node instanceof JSONArray) {
+            JSONArray array = (JSONArray) node;
+            Object key = null;
+            for (int i = 0; i < array.length(); i++) {
+                Object element = array.opt(i);
+                int comparison = compareValues(element, key);
+                if (i == 0 || (ascending ? comparison < 0 : comparison > 0)) {
+                    key = element;
+                }
+            }
+            return key;
+        }
+        return node;
+    }
+
+    private static void copyPath(JSONObject from, JSONObject to, String[] path, int depth) {
+        Object value = from.opt(path[depth]);
+        if (value == null) {
+            return;
+        }
+        if (depth == path.length - 1) {
+            to.put(path[depth], value);
+        } else if (value instanceof JSONObject) {
+            Object target = to.opt(path[depth]);
+            JSONObject nested = target instanceof JSONObject ? (JSONObject) target : new JSONObject();
+            copyPath((JSONObject) value, nested, path, depth + 1);
+            if (nested.length() > 0) {
+                to.put(path[depth], nested);
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            Object target = to.opt(path[depth]);
+            JSONArray projected = target instanceof JSONArray ? (JSONArray) target : new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                Object element = array.opt(i);
+                if (element instanceof JSONObject) {
+                    Object existing = projected.opt(i);
+                    JSONObject nested = existing instanceof JSONObject ? (JSONObject) existing : new JSONObject();
+                    copyPath((JSONObject) element, nested, path, depth + 1);
+                    projected.put(i, nested);
+                }
+            }
+            if (projected.length() > 0) {
+                to.put(path[depth], projected);
+            }
+        }
+    }
+
+    // removes the field at the path, copying the objects on the way so the entry stays untouched
+    private static void removePath(JSONObject object, String[] path, int depth) {
+        if (depth == path.length - 1) {
+            object.remove(path[depth]);
+            return;
+        }
+        Object value = object.opt(path[depth]);
+        if (value instanceof JSONObject) {
+            JSONObject nested = copy((JSONObject) value);
+            removePath(nested, path, depth + 1);
+            object.put(path[depth], nested);
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            JSONArray projected = new JSONArray();
+            for (int i = 0; i < array.length(); i++) {
+                Object element = array.opt(i);
+                if (element instanceof JSONObject) {
+                    JSONObject nested = copy((JSONObject) element);
+                    removePath(nested, path, depth + 1);
+                    element = nested;
+                }
+                projected.put(element);
+            }
+            object.put(path[depth], projected);
+        }
+    }
+
+    private static JSONObject copy(JSONObject object) {
+        String[] names = JSONObject.getNames(object);
+        return names != null ? new JSONObject(object, names) : new JSONObject();
+    }
+
+    // a test of the values of a field
+    private interface Condition {
+
+        boolean test(Object value);
+
+        // whether an entry without the field matches, like an equality with null
+        default boolean matchesMissing() {
+            return false;
+        }
+
+        // whether the array of the field is tested as a whole, not only its elements
+        default boolean testsArrays() {
+            return false;
+        }
+    }
+
+    // the condition on the value at the path, an array on the way matches when one element does
+    private static final class FieldTest implements Predicate<JSONObject> {
+        private final String[] path;
+        private final Condition condition;
+
+        private FieldTest(String[] path, Condition condition) {
+            this.path = path;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean test(JSONObject entry) {
+            return test(entry, 0);
+        }
+
+        private boolean test(Object node, int depth) {
+            if (depth == path.length) {
+                return testValue(node);
+            }
+            if (node instanceof JSONObject) {
+                Object child = ((JSONObject) node).opt(path[depth]);
+                return child != null ? test(child, depth + 1) : condition.matchesMissing();
+            }
+            if (node instanceof JSONArray) {
+                JSONArray array = (JSONArray) node;
+                for (int i = 0; i < array.length(); i++) {
+                    Object element = array.opt(i);
+                    if (element instanceof JSONObject && test(element, depth)) {
+                        return true;
+                    }
+                }
+                // a numeric segment addresses an element, like tags.0
+                int index = index(path[depth]);
+                if (index >= 0 && index < array.length()) {
+                    return test(array.opt(index), depth + 1);
+                }
+                return false;
+            }
+            return condition.matchesMissing();
+        }
+
+        private boolean testValue(Object value) {
+            if (value instanceof JSONArray) {
+                JSONArray array = (JSONArray) value;
+                if (condition.testsArrays() && condition.test(array)) {
+                    return true;
+                }
+                for (int i = 0; i < array.length(); i++) {
+                    if (condition.test(array.opt(i))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return condition.test(value);
+        }
+
+        private static int index(String segment) {
+            if (segment.isEmpty() || segment.length() > 9) {
+                return -1;
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                    return -1;
+                }
+            }
+            return Integer.parseInt(segment);
+        }
+    }
+
+    private static final class Equals implements Condition {
+        private final Object expected;
+
+        private Equals(Object expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean test(Object value) {
+            return equalValues(value, expected);
+        }
+
+        @Override
+        public boolean matchesMissing() {
+            return isNull(expected);
+        }
+
+        @Override
+        public boolean testsArrays() {
+            return expected instanceof JSONArray;
+        }
+    }
+
+    private static final class In implements Condition {
+        private final Equals[] values;
+        private final boolean matchesMissing;
+
+        private In(JSONArray array) {
+            values = new Equals[array.length()];
+            boolean withNull = false;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = new Equals(array.opt(i));
+                withNull |= values[i].matchesMissing();
+            }
+            matchesMissing = withNull;
+        }
+
+        @Override
+        public boolean test(Object value) {
+            for (Equals equals : values) {
+                if (equals.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean matchesMissing() {
+            return matchesMissing;
+        }
+
+        @Override
+        public boolean testsArrays() {
+            for (Equals equals : values) {
+                if (equals.testsArrays()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // $lt, $lte, $gt and $gte, the operand is unboxed once
+    private static final class Compare implements Condition {
+        private final boolean lower;
+        private final boolean inclusive;
+        private final Object operand;
+        private final boolean numeric;
+        private final boolean integral;
+        private final long longOperand;
+        private final double doubleOperand;
+
+        private Compare(String operator, Object operand) {
+            this.lower = operator.startsWith("$l");
+            this.inclusive = operator.endsWith("e");
+            this.operand = operand;
+            this.numeric = operand instanceof Number;
+            this.integral = isIntegral(operand);
+            this.longOperand = numeric ? ((Number) operand).longValue() : 0;
+            this.doubleOperand = numeric ? ((Number) operand).doubleValue() : 0;
+        }
+
+        @Override
+        public boolean test(Object value) {
+            int comparison;
+            if (numeric) {
+                if (!(value instanceof Number)) {
+                    return false;
+                }
+                if (integral && isIntegral(value)) {
+                    comparison = Long.compare(((Number) value).longValue(), longOperand);
+                } else if (value instanceof BigDecimal && operand instanceof BigDecimal) {
+                    comparison = ((BigDecimal) value).compareTo((BigDecimal) operand);
+                } else {
+                    double number = ((Number) value).doubleValue();
+                    if (Double.isNaN(number) || Double.isNaN(doubleOperand)) {
+                        return false;
+                    }
+                    comparison = number < doubleOperand ? -1 : (number > doubleOperand ? 1 : 0);
+                }
+            } else if (operand instanceof String) {
+                if (!(value instanceof String)) {
+                    return false;
+                }
+                comparison = compareStrings((String) value, (String) operand);
+            } else if (operand instanceof Boolean) {
+                if (!(value instanceof Boolean)) {
+                    return false;
+                }
+                comparison = Boolean.compare((Boolean) value, (Boolean) operand);
+            } else {
+                return false;
+            }
+            if (comparison == 0) {
+                return inclusive;
+            }
+            return lower == comparison < 0;
+        }
+    }
+
+    private static final class Exists implements Condition {
+        private static final Exists INSTANCE = new Exists();
+
+        @Override
+        public boolean test(Object value) {
+            return true;
+        }
+
+        @Override
+        public boolean testsArrays() {
+            return true;
+        }
+    }
+
+    private static final class Regex implements Condition {
+        private final Pattern pattern;
+
+        private Regex(String regex, String options) {
+            int flags = 0;
+            for (int i = 0; i < options.length(); i++) {
+                switch (options.charAt(i)) {
+                case 'i':
+                    flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+                    break;
+                case 'm':
+                    flags |= Pattern.MULTILINE;
+                    break;
+                case 's':
+                    flags |= Pattern.DOTALL;
+                    break;
+                case 'x':
+                    flags |= Pattern.COMMENTS;
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Regex option " + options.charAt(i) + " is not supported");
+                }
+            }
+            try {
+                this.pattern = Pattern.compile(regex, flags);
+            } catch (PatternSyntaxException e) {
+                throw new UnsupportedOperationException("Regex " + regex + " is not supported", e);
+            }
+        }
+
+        @Override
+        public boolean test(Object value) {
+            return value instanceof String && pattern.matcher((String) value).find();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.contentstack.sdk;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Iterates over all entries matching a {@link Query}, page by page. While a
+ * page is consumed the next one is already requested, so at most two pages are
+ * held at a time however many entries match.
+ * <p>
+ * The skip and limit of the query are respected: iteration starts at the
+ * skipped entry and stops after limit entries.
+ */
+final class QueryIterator implements Iterator<Entry> {
+
+    private final Query query;
+    private final int pageSize;
+    private final Executor executor;
+    private int nextSkip;
+    private int remaining;
+    private List<Entry> page = Collections.emptyList();
+    private int position;
+    private CompletableFuture<QueryResult> nextPage;
+
+    QueryIterator(Query query, int pageSize) {
+        this.query = query;
+        this.pageSize = pageSize;
+        this.executor = query.contentTypeInstance.stackInstance.backgroundExecutor();
+        this.nextSkip = query.urlQueries.optInt("skip", 0);
+        this.remaining = query.urlQueries.has(Constants.LIMIT) ? query.urlQueries.optInt(Constants.LIMIT)
+                : Integer.MAX_VALUE;
+        this.nextPage = requestPage();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position == page.size()) {
+            if (nextPage == null) {
+                return false;
+            }
+            QueryResult result = await(nextPage);
+            List<Entry> entries = result != null && result.getResultObjects() != null ? result.getResultObjects()
+                    : Collections.<Entry>emptyList();
+            page = entries;
+            position = 0;
+            // a short page is the last one
+            nextPage = entries.size() < pageSize ? null : requestPage();
+        }
+        return true;
+    }
+
+    @Override
+    public Entry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Entry entry = page.get(position);
+        page.set(position++, null); // consumed entries can be collected before the page ends
+        return entry;
+    }
+
+    private CompletableFuture<QueryResult> requestPage() {
+        if (remaining <= 0) {
+            return null;
+        }
+        int skip = nextSkip;
+        int limit = Math.min(pageSize, remaining);
+        nextSkip += limit;
+        remaining -= limit;
+        return query.findPageAsync(skip, limit, false, executor);
+    }
+
+    private static QueryResult await(CompletableFuture<QueryResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
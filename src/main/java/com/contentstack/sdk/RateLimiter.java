@@ -0,0 +1,179 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting how many requests per second are sent. Requests over
+ * the rate wait for their turn instead of failing, they fail only when they
+ * would wait longer than the maximum wait. Bursts of up to {@code burst}
+ * requests are sent right away after a quiet period.
+ * <p>
+ * One limiter can be set on the configs of several stacks, for example all the
+ * stacks using the same API key, they then share the rate. The limiter only
+ * knows the requests of the process, when several processes use the same
+ * stack each of them needs its share of the rate limit.
+ * <p>
+ * Requests served from the {@link ResponseCache} don't take a permit, every
+ * attempt made by a {@link RetryPolicy} does.
+ *
+ * <pre class="prettyprint">
+ * RateLimiter limiter = new RateLimiter(90, 90).setMaxWait(5, TimeUnit.SECONDS);
+ * Config config = new Config().setRateLimiter(limiter);
+ * </pre>
+ */
+public class RateLimiter {
+
+    private final double interval;
+    private final double burst;
+    private long maxWait = TimeUnit.SECONDS.toNanos(30);
+    private double storedPermits;
+    private long nextFree = System.nanoTime();
+
+    private long acquired;
+    private long rejected;
+    private long waiting;
+    private long totalWait;
+    private long longestWait;
+
+    /**
+     * Creates a limiter sending at most permitsPerSecond requests per second.
+     *
+     * @param permitsPerSecond the rate of requests
+     * @param burst            how many requests can be sent at once after a quiet
+     *                         period
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.interval = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burst = burst;
+        this.storedPermits = burst;
+    }
+
+    /**
+     * Sets how long a request waits for a permit at most. A request that would
+     * wait longer fails right away. Defaults to 30 seconds.
+     *
+     * @param maxWait  the maximum wait
+     * @param timeUnit the unit of maxWait
+     * @return the limiter
+     */
+    public synchronized RateLimiter setMaxWait(long maxWait, @NotNull TimeUnit timeUnit) {
+        this.maxWait = timeUnit.toNanos(maxWait);
+        return this;
+    }
+
+    /**
+     * Returns how many requests got a permit
+     *
+     * @return the count of permits
+     */
+    public synchronized long acquiredCount() {
+        return acquired;
+    }
+
+    /**
+     * Returns how many requests failed because they would have waited longer
+     * than the maximum wait
+     *
+     * @return the count of rejected requests
+     */
+    public synchronized long rejectedCount() {
+        return rejected;
+    }
+
+    /**
+     * Returns how many requests are waiting for their permit
+     *
+     * @return the length of the queue
+     */
+    public synchronized long queueLength() {
+        return waiting;
+    }
+
+    /**
+     * Returns the average time requests waited for their permit
+     *
+     * @param timeUnit the unit of the result
+     * @return the average wait
+     */
+    public synchronized long averageWaitTime(@NotNull TimeUnit timeUnit) {
+        return acquired == 0 ? 0 : timeUnit.convert(totalWait / acquired, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the longest time a request waited for its permit
+     *
+     * @param timeUnit the unit of the result
+     * @return the longest wait
+     */
+    public synchronized long longestWaitTime(@NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(longestWait, TimeUnit.NANOSECONDS);
+    }
+
+    // waits for a permit, false when it would take longer than the maximum wait or the limit
+    boolean acquire(long limit) throws InterruptedIOException {
+        long wait = reserve(System.nanoTime(), limit, true);
+        if (wait < 0) {
+            return false;
+        }
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+            } finally {
+                synchronized (this) {
+                    waiting--;
+                }
+            }
+        }
+        return true;
+    }
+
+    // takes a permit only when it is available right away, nothing waited when there is none
+    // so it is not counted as a rejected request
+    boolean tryAcquire() {
+        return reserve(System.nanoTime(), 0, false) == 0;
+    }
+
+    synchronized long reserve(long now) {
+        return reserve(now, Long.MAX_VALUE, true);
+    }
+
+    synchronized long maxWait() {
+        return maxWait;
+    }
+
+    // takes the next permit, returns how long to wait for it or -1 when longer than maxWait or the limit
+    private synchronized long reserve(long now, long limit, boolean countRejected) {
+        if (now - nextFree > 0) {
+            storedPermits = Math.min(burst, storedPermits + (now - nextFree) / interval);
+            nextFree = now;
+        }
+        // the permit is due once the missing part of it has been refilled
+        double fromStored = Math.min(1, storedPermits);
+        long due = nextFree + (long) ((1 - fromStored) * interval);
+        long wait = Math.max(0, due - now);
+        if (wait > Math.min(maxWait, limit)) {
+            if (countRejected) {
+                rejected++;
+            }
+            return -1;
+        }
+        storedPermits -= fromStored;
+        nextFree = due;
+        acquired++;
+        totalWait += wait;
+        longestWait = Math.max(longestWait, wait);
+        if (wait > 0) {
+            waiting++;
+        }
+        return wait;
+    }
+}
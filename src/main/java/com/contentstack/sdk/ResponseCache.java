@@ -0,0 +1,213 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of the responses of a stack. Responses are kept as the bytes
+ * of the body, every hit is decoded again, so callers never share the decoded
+ * objects. The cache holds at most {@code maxBytes} of bodies and evicts the
+ * least recently used responses first.
+ * <p>
+ * Responses expire after the time to live of their content type, or the
+ * default time to live. Expired responses that came with an {@code ETag} or a
+ * {@code Last-Modified} header are kept and revalidated with a conditional
+ * request, on {@code 304 Not Modified} the cached body is reused. Results
+ * served from the cache are reported with {@link ResponseType#CACHE}.
+ *
+ * <pre class="prettyprint">
+ * ResponseCache cache = new ResponseCache(32 * 1024 * 1024, 5, TimeUnit.MINUTES)
+ *         .setTTL("blog_post", 30, TimeUnit.SECONDS);
+ * Config config = new Config().setResponseCache(cache);
+ * </pre>
+ */
+public class ResponseCache {
+
+    // rough bookkeeping cost of an entry besides its key and body
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final long maxBytes;
+    private final long defaultTTL;
+    private long maxStale = 0;
+    private final Map<String, Long> contentTypeTTLs = new HashMap<>();
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long revalidations;
+
+    /**
+     * Creates a cache holding at most maxBytes of responses.
+     *
+     * @param maxBytes   the maximum size of the cached bodies in bytes
+     * @param defaultTTL how long a response is served from the cache
+     * @param timeUnit   the unit of defaultTTL
+     */
+    public ResponseCache(long maxBytes, long defaultTTL, @NotNull TimeUnit timeUnit) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.defaultTTL = timeUnit.toNanos(defaultTTL);
+    }
+
+    /**
+     * Sets the time to live of the entries of a content type, it overrides the
+     * default time to live. A time to live of zero disables caching for the
+     * content type.
+     *
+     * @param contentTypeUid the uid of the content type
+     * @param ttl            how long its responses are served from the cache
+     * @param timeUnit       the unit of ttl
+     * @return the cache
+     */
+    public synchronized ResponseCache setTTL(@NotNull String contentTypeUid, long ttl, @NotNull TimeUnit timeUnit) {
+        contentTypeTTLs.put(contentTypeUid, timeUnit.toNanos(ttl));
+        return this;
+    }
+
+    /**
+     * Sets how long expired responses are kept after their time to live, to be
+     * served with {@link ResponseType#STALE} while the circuit of their host is
+     * open, see {@link CircuitBreaker}. Responses with an {@code ETag} or a
+     * {@code Last-Modified} header are kept for revalidation anyway. Defaults
+     * to zero.
+     *
+     * @param maxStale how long expired responses are kept
+     * @param timeUnit the unit of maxStale
+     * @return the cache
+     */
+    public synchronized ResponseCache setMaxStale(long maxStale, @NotNull TimeUnit timeUnit) {
+        this.maxStale = timeUnit.toNanos(maxStale);
+        return this;
+    }
+
+    /**
+     * Removes every response from the cache.
+     */
+    public synchronized void invalidateAll() {
+        responses.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the size of the cached responses in bytes
+     *
+     * @return the size in bytes
+     */
+    public synchronized long size() {
+        return weight;
+    }
+
+    /**
+     * Returns how many requests were served from the cache
+     *
+     * @return the hit count
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns how many cacheable requests went to the network, including the
+     * conditional requests of expired responses
+     *
+     * @return the miss count
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * Returns how many expired responses were revalidated with
+     * {@code 304 Not Modified} and served from the cache
+     *
+     * @return the revalidation count
+     */
+    public synchronized long revalidationCount() {
+        return revalidations;
+    }
+
+    // returns the fresh response, or the expired one when it can be revalidated or
+    // is still within the max stale
+    synchronized CachedResponse lookup(String key) {
+        CachedResponse response = responses.get(key);
+        if (response != null && !response.isFresh() && !response.canRevalidate()
+                && System.nanoTime() - response.expiresAt > maxStale) {
+            remove(key);
+            response = null;
+        }
+        if (response != null && response.isFresh()) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return response;
+    }
+
+    synchronized void put(String key, String contentTypeUid, byte[] body, String etag, String lastModified) {
+        long ttl = ttl(contentTypeUid);
+        long entryWeight = weigh(key, body);
+        if (ttl <= 0 || entryWeight > maxBytes) {
+            return;
+        }
+        remove(key);
+        responses.put(key, new CachedResponse(body, System.nanoTime() + ttl, etag, lastModified));
+        weight += entryWeight;
+        Iterator<Map.Entry<String, CachedResponse>> eldest = responses.entrySet().iterator();
+        while (weight > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = eldest.next();
+            weight -= weigh(entry.getKey(), entry.getValue().body);
+            eldest.remove();
+        }
+    }
+
+    // the server answered 304 Not Modified, the response is fresh again
+    synchronized void revalidated(String key, String contentTypeUid, CachedResponse response) {
+        revalidations++;
+        put(key, contentTypeUid, response.body, response.etag, response.lastModified);
+    }
+
+    private long ttl(String contentTypeUid) {
+        Long contentTypeTTL = contentTypeUid != null ? contentTypeTTLs.get(contentTypeUid) : null;
+        return contentTypeTTL != null ? contentTypeTTL : defaultTTL;
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = responses.remove(key);
+        if (removed != null) {
+            weight -= weigh(key, removed.body);
+        }
+    }
+
+    private static long weigh(String key, byte[] body) {
+        return (long) key.length() * 2 + body.length + ENTRY_OVERHEAD;
+    }
+
+    static final class CachedResponse {
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        private final long expiresAt;
+
+        private CachedResponse(byte[] body, long expiresAt, String etag, String lastModified) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        boolean isFresh() {
+            return expiresAt - System.nanoTime() > 0;
+        }
+
+        boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -7,6 +7,17 @@ public enum ResponseType {
      */
     NETWORK,
 
+    /**
+     * Response from the in-memory cache, see {@link ResponseCache}.
+     */
+    CACHE,
+
+    /**
+     * Expired response from the in-memory cache, served while the host is
+     * unavailable, see {@link CircuitBreaker}.
+     */
+    STALE,
+
     /**
      * Request not reach up to network and cache.
      */
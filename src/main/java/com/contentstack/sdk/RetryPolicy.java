@@ -0,0 +1,124 @@
+package com.contentstack.sdk;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries failed requests. A request is retried when it fails with an I/O
+ * error or with one of the retryable status codes, 429 and transient 5xx by
+ * default, until it ran {@code maxAttempts} times. The SDK only sends GET
+ * requests, they are safe to repeat.
+ * <p>
+ * Between two attempts the request waits a random delay up to the exponential
+ * backoff {@code baseDelay * 2^(attempt - 1)}, capped at {@code maxDelay}. When
+ * the response carries a {@code Retry-After} header, its delay is used instead,
+ * capped at {@code maxDelay} as well.
+ *
+ * <pre class="prettyprint">
+ * Config config = new Config().setRetryPolicy(new RetryPolicy()
+ *         .setMaxAttempts(4)
+ *         .setBackoff(200, 5000, TimeUnit.MILLISECONDS));
+ * </pre>
+ */
+public class RetryPolicy {
+
+    protected int maxAttempts = 3;
+    protected long baseDelay = TimeUnit.MILLISECONDS.toNanos(200);
+    protected long maxDelay = TimeUnit.SECONDS.toNanos(10);
+    protected Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(429, 500, 502, 503, 504));
+
+    /**
+     * Sets how many times a request is sent at most, the first attempt included.
+     * Defaults to 3.
+     *
+     * @param maxAttempts the maximum number of attempts
+     * @return the retry policy
+     */
+    public RetryPolicy setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets the delays between two attempts. Defaults to 200 milliseconds,
+     * doubled for every attempt, and at most 10 seconds.
+     *
+     * @param baseDelay the delay before the first retry
+     * @param maxDelay  the maximum delay between two attempts
+     * @param timeUnit  the unit of the delays
+     * @return the retry policy
+     */
+    public RetryPolicy setBackoff(long baseDelay, long maxDelay, @NotNull TimeUnit timeUnit) {
+        if (baseDelay < 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("delays must satisfy 0 <= baseDelay <= maxDelay");
+        }
+        this.baseDelay = timeUnit.toNanos(baseDelay);
+        this.maxDelay = timeUnit.toNanos(maxDelay);
+        return this;
+    }
+
+    /**
+     * Sets the status codes a request is retried on. Defaults to 429, 500, 502,
+     * 503 and 504.
+     *
+     * @param statusCodes the retryable status codes
+     * @return the retry policy
+     */
+    public RetryPolicy setRetryableStatusCodes(@NotNull Integer... statusCodes) {
+        this.retryableStatusCodes = new HashSet<>(Arrays.asList(statusCodes));
+        return this;
+    }
+
+    boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    boolean isRetryable(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    // the delay in nanoseconds after the given failed attempt, starting at 1
+    long delay(int attempt, String retryAfter) {
+        long requested = retryAfter(retryAfter);
+        if (requested >= 0) {
+            return Math.min(requested, maxDelay);
+        }
+        long backoff = attempt > 62 ? maxDelay : baseDelay << (attempt - 1);
+        if (backoff < 0 || backoff > maxDelay) {
+            backoff = maxDelay;
+        }
+        // full jitter, retries of clients failing together spread out
+        return backoff == 0 ? 0 : ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    // Retry-After is either a number of seconds or an HTTP date, -1 when absent or invalid
+    private static long retryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // not a number of seconds, try a date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            long millis = date.toInstant().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
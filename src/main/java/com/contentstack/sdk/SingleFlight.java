@@ -0,0 +1,106 @@
+package com.contentstack.sdk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs at most one call per key at a time. Callers asking for a key while its
+ * call is in flight wait for it and get the same result, or the same
+ * exception, unless the call was {@link Abandoned}.
+ *
+ * @param <T> the result of the calls
+ */
+class SingleFlight<T> {
+
+    interface Call<T> {
+        T call() throws IOException;
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<T>> calls = new ConcurrentHashMap<>();
+
+    T execute(String key, Call<T> call) throws IOException {
+        return execute(key, call, Long.MAX_VALUE);
+    }
+
+    // a caller waits at most timeout nanoseconds for the call in flight, the call itself is not bounded
+    T execute(String key, Call<T> call, long timeout) throws IOException {
+        long start = System.nanoTime();
+        for (;;) {
+            CompletableFuture<T> mine = new CompletableFuture<>();
+            CompletableFuture<T> inFlight = calls.putIfAbsent(key, mine);
+            if (inFlight == null) {
+                return call(key, call, mine);
+            }
+            try {
+                return await(inFlight, remaining(start, timeout));
+            } catch (Abandoned e) {
+                // the call failed for the caller that started it only, this caller starts it again
+            }
+        }
+    }
+
+    // later callers start a new call, they must not get a result older than their request,
+    // so the call is removed before the callers waiting for it wake up
+    private T call(String key, Call<T> call, CompletableFuture<T> mine) throws IOException {
+        T result;
+        try {
+            result = call.call();
+        } catch (Abandoned e) {
+            calls.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw (IOException) e.getCause();
+        } catch (Throwable e) {
+            calls.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        calls.remove(key, mine);
+        mine.complete(result);
+        return result;
+    }
+
+    private static long remaining(long start, long timeout) {
+        return timeout == Long.MAX_VALUE ? timeout : timeout - (System.nanoTime() - start);
+    }
+
+    private static <T> T await(CompletableFuture<T> inFlight, long timeout) throws IOException {
+        try {
+            return inFlight.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof java.lang.Error) {
+                throw (java.lang.Error) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new InterruptedIOException("Timed out waiting for the identical request in flight");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the identical request in flight");
+        }
+    }
+
+    /**
+     * Thrown by a call that failed for a reason of the caller that started it
+     * only, like its deadline. That caller gets the cause, the callers waiting
+     * for the call start it again.
+     */
+    static final class Abandoned extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        Abandoned(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+}
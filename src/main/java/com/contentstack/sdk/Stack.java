@@ -1,11 +1,21 @@
 package com.contentstack.sdk;
 
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.OkHttpClient;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONObject;
+import retrofit2.Retrofit;
 
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -15,15 +25,24 @@ import static com.contentstack.sdk.Constants.*;
  * A stack is a repository or a container that holds all the content/assets of
  * your site. It allows multiple users to create, edit, approve, and publish
  * their content within a single space.
+ * <p>
+ * A stack owns the HTTP client used by all of its requests; call
+ * {@link #close()} once the stack is no longer needed to release its pooled
+ * connections and threads.
  */
-public class Stack {
+public class Stack implements AutoCloseable {
 
     private final Logger logger = Logger.getLogger(Stack.class.getSimpleName());
     protected LinkedHashMap<String, Object> headers;
     protected Config config;
-    protected String contentType;
+    protected volatile String contentType;
     protected String apiKey;
-    protected JSONObject syncParams = null;
+    // parameters of the latest sync request, requests never read it back
+    protected volatile JSONObject syncParams = null;
+    protected OkHttpClient client;
+    protected APIService service;
+    // requests of the stack in flight, used when the config coalesces requests
+    protected final SingleFlight<CSHttpConnection.Outcome> inFlightRequests = new SingleFlight<>();
 
     protected Stack() throws IllegalAccessException {
         throw new IllegalAccessException("Can Not Access Private Modifier");
@@ -57,6 +76,12 @@ public class Stack {
         // Set the endpoint
         String endpoint = config.scheme + config.host;
         this.config.setEndpoint(endpoint);
+        client = new OkHttpClient.Builder().connectionPool(config.connectionPool)
+                .connectTimeout(config.connectTimeout, TimeUnit.MILLISECONDS)
+                .readTimeout(config.readTimeout, TimeUnit.MILLISECONDS)
+                .callTimeout(config.callTimeout, TimeUnit.MILLISECONDS).build();
+        Retrofit retrofit = new Retrofit.Builder().baseUrl(config.getEndpoint()).client(client).build();
+        service = retrofit.create(APIService.class);
     }
 
     private void includeLivePreview() {
@@ -129,7 +154,7 @@ public class Stack {
      *         </pre>
      */
     public ContentType contentType(String contentTypeUid) {
-        this.contentType = contentTypeUid; // set contentTypeUid for stack instance
+        this.contentType = contentTypeUid; // remembers the latest content type, requests don't depend on it
         ContentType ct = new ContentType(contentTypeUid);
         ct.setStackInstance(this);
         return ct;
@@ -203,7 +228,7 @@ public class Stack {
      */
     @Deprecated
     public String getAccessToken() {
-        return (String) headers.get("access_token");
+        return (String) header("access_token");
     }
 
     /**
@@ -212,7 +237,7 @@ public class Stack {
      * @return deliveryToken delivery token
      */
     public String getDeliveryToken() {
-        return (String) headers.get("access_token");
+        return (String) header("access_token");
     }
 
     /**
@@ -223,7 +248,9 @@ public class Stack {
      *                  <b>Example:</b> stack.removeHeader("delivery_token");
      */
     public void removeHeader(String headerKey) {
-        headers.remove(headerKey);
+        synchronized (headers) {
+            headers.remove(headerKey);
+        }
     }
 
     /**
@@ -234,7 +261,28 @@ public class Stack {
      */
     public void setHeader(@NotNull String headerKey, @NotNull String headerValue) {
         if (!headerKey.isEmpty() && !headerValue.isEmpty()) {
-            headers.put(headerKey, headerValue);
+            synchronized (headers) {
+                headers.put(headerKey, headerValue);
+            }
+        }
+    }
+
+    /**
+     * Copies the headers for a {@link ContentType}, {@link Asset} or
+     * {@link AssetLibrary}, which change their own copy only. A stack can so be
+     * shared by threads.
+     *
+     * @return a copy of the headers
+     */
+    LinkedHashMap<String, Object> copyHeaders() {
+        synchronized (headers) {
+            return new LinkedHashMap<>(headers);
+        }
+    }
+
+    Object header(String key) {
+        synchronized (headers) {
+            return headers.get(key);
         }
     }
 
@@ -281,13 +329,35 @@ public class Stack {
             Object value = params.opt(key);
             params.put(key, value);
         }
-        if (this.headers.containsKey(ENVIRONMENT)) {
-            params.put(ENVIRONMENT, this.headers.get(ENVIRONMENT));
+        Object environment = header(ENVIRONMENT);
+        if (environment != null) {
+            params.put(ENVIRONMENT, environment);
             params.put("include_count", true);
         }
         fetchContentTypes("content_types", params, this.headers, callback);
     }
 
+    /**
+     * Fetches all content types like
+     * {@link #getContentTypes(JSONObject, ContentTypesCallback)} and returns a
+     * future of the result instead of notifying a callback.
+     *
+     * @param params query parameters
+     * @return {@link CompletableFuture} of the {@link ContentTypesModel},
+     *         completed exceptionally with a {@link ContentstackException} when
+     *         the request fails.
+     */
+    public CompletableFuture<ContentTypesModel> getContentTypesAsync(@NotNull JSONObject params) {
+        CompletableFuture<ContentTypesModel> future = new CompletableFuture<>();
+        getContentTypes(params, new ContentTypesCallback() {
+            @Override
+            public void onCompletion(ContentTypesModel contentTypesModel, Error error) {
+                ContentstackException.complete(future, contentTypesModel, error);
+            }
+        });
+        return future;
+    }
+
     /**
      * The Sync request performs a complete sync of your app data. It returns all
      * the published entries and assets of the specified stack in response. The
@@ -298,9 +368,7 @@ public class Stack {
      *
      */
     public void sync(SyncResultCallBack syncCallBack) {
-        syncParams = new JSONObject();
-        syncParams.put("init", true);
-        this.requestSync(syncCallBack);
+        this.requestSync(newSyncParams(), syncCallBack);
     }
 
     /**
@@ -327,9 +395,9 @@ public class Stack {
      *
      */
     public void syncPaginationToken(@NotNull String paginationToken, SyncResultCallBack syncCallBack) {
-        this.sync(null);
-        syncParams.put("pagination_token", paginationToken);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("pagination_token", paginationToken);
+        this.requestSync(params, syncCallBack);
     }
 
     /**
@@ -352,9 +420,9 @@ public class Stack {
      *                     </pre>
      */
     public void syncToken(String syncToken, SyncResultCallBack syncCallBack) {
-        this.sync(null);
-        syncParams.put("sync_token", syncToken);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("sync_token", syncToken);
+        this.requestSync(params, syncCallBack);
     }
 
     /**
@@ -378,9 +446,9 @@ public class Stack {
      */
     public void syncFromDate(@NotNull Date fromDate, SyncResultCallBack syncCallBack) {
         String newFromDate = convertUTCToISO(fromDate);
-        this.sync(null);
-        syncParams.put("start_from", newFromDate);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("start_from", newFromDate);
+        this.requestSync(params, syncCallBack);
     }
 
     protected String convertUTCToISO(Date date) {
@@ -409,9 +477,9 @@ public class Stack {
      *
      */
     public void syncContentType(@NotNull String contentType, SyncResultCallBack syncCallBack) {
-        this.sync(null);
-        syncParams.put(CONTENT_TYPE_UID, contentType);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put(CONTENT_TYPE_UID, contentType);
+        this.requestSync(params, syncCallBack);
     }
 
     /**
@@ -432,9 +500,9 @@ public class Stack {
      *
      */
     public void syncLocale(String localeCode, SyncResultCallBack syncCallBack) {
-        this.sync(null);
-        syncParams.put("locale", localeCode);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("locale", localeCode);
+        this.requestSync(params, syncCallBack);
     }
 
     /**
@@ -463,9 +531,9 @@ public class Stack {
      *                     </pre>
      */
     public void syncPublishType(PublishType publishType, SyncResultCallBack syncCallBack) {
-        this.sync(null);
-        syncParams.put("type", publishType.name());
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("type", publishType.name());
+        this.requestSync(params, syncCallBack);
     }
 
     /**
@@ -490,19 +558,257 @@ public class Stack {
     public void sync(
             String contentType, Date fromDate, String localeCode, PublishType publishType, SyncResultCallBack syncCallBack) {
         String newDate = convertUTCToISO(fromDate);
-        this.sync(null);
-        syncParams.put("start_from", newDate);
-        syncParams.put("content_type_uid", contentType);
-        syncParams.put("type", publishType.name());
-        syncParams.put("locale", localeCode);
-        this.requestSync(syncCallBack);
+        JSONObject params = newSyncParams();
+        params.put("start_from", newDate);
+        params.put("content_type_uid", contentType);
+        params.put("type", publishType.name());
+        params.put("locale", localeCode);
+        this.requestSync(params, syncCallBack);
+    }
+
+    /**
+     * Performs a complete sync like {@link #sync(SyncResultCallBack)} and returns a
+     * future of the {@link SyncStack} instead of notifying a callback. Every
+     * future returned by the sync methods completes exceptionally with a
+     * {@link ContentstackException} when the request fails.
+     *
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     *         <p>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         stack.syncAsync().thenAccept(syncStack -&gt; {
+     *         });
+     *         </pre>
+     */
+    public CompletableFuture<SyncStack> syncAsync() {
+        return syncFuture(this::sync);
+    }
+
+    /**
+     * Future variant of {@link #syncPaginationToken(String, SyncResultCallBack)}.
+     *
+     * @param paginationToken the pagination token of the batch to fetch
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncPaginationTokenAsync(@NotNull String paginationToken) {
+        return syncFuture(callback -> syncPaginationToken(paginationToken, callback));
+    }
+
+    /**
+     * Future variant of {@link #syncToken(String, SyncResultCallBack)}.
+     *
+     * @param syncToken the sync token received in the previous sync
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncTokenAsync(String syncToken) {
+        return syncFuture(callback -> syncToken(syncToken, callback));
+    }
+
+    /**
+     * Future variant of {@link #syncFromDate(Date, SyncResultCallBack)}.
+     *
+     * @param fromDate the start date for the initial sync
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncFromDateAsync(@NotNull Date fromDate) {
+        return syncFuture(callback -> syncFromDate(fromDate, callback));
+    }
+
+    /**
+     * Future variant of {@link #syncContentType(String, SyncResultCallBack)}.
+     *
+     * @param contentType uid of the content type to sync
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncContentTypeAsync(@NotNull String contentType) {
+        return syncFuture(callback -> syncContentType(contentType, callback));
+    }
+
+    /**
+     * Future variant of {@link #syncLocale(String, SyncResultCallBack)}.
+     *
+     * @param localeCode the locale code to sync
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncLocaleAsync(String localeCode) {
+        return syncFuture(callback -> syncLocale(localeCode, callback));
+    }
+
+    /**
+     * Future variant of {@link #syncPublishType(PublishType, SyncResultCallBack)}.
+     *
+     * @param publishType the type of content to sync
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncPublishTypeAsync(PublishType publishType) {
+        return syncFuture(callback -> syncPublishType(publishType, callback));
+    }
+
+    /**
+     * Future variant of
+     * {@link #sync(String, Date, String, PublishType, SyncResultCallBack)}.
+     *
+     * @param contentType your content type id
+     * @param fromDate    start date
+     * @param localeCode  language as language code
+     * @param publishType type as PublishType
+     * @return {@link CompletableFuture} of the {@link SyncStack}
+     */
+    public CompletableFuture<SyncStack> syncAsync(String contentType, Date fromDate, String localeCode,
+            PublishType publishType) {
+        return syncFuture(callback -> sync(contentType, fromDate, localeCode, publishType, callback));
+    }
+
+    /**
+     * Reactive variant of {@link #sync(SyncResultCallBack)}. The returned
+     * {@link Flowable} emits the items of every page of the sync, following the
+     * pagination tokens on its own. Pages are only requested as downstream
+     * demands more items, so a slow subscriber holds no more than about two pages
+     * in memory.
+     *
+     * @return {@link Flowable} of the sync items
+     *         <p>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         stack.rxSync().subscribe(item -&gt; {
+     *         });
+     *         </pre>
+     */
+    public Flowable<JSONObject> rxSync() {
+        return rxSyncPages(null).concatMapIterable(Stack::items, 1);
+    }
+
+    /**
+     * Reactive variant of {@link #syncToken(String, SyncResultCallBack)}, emitting
+     * the items of every page of the delta sync.
+     *
+     * @param syncToken the sync token received in the previous sync
+     * @return {@link Flowable} of the sync items
+     */
+    public Flowable<JSONObject> rxSyncToken(@NotNull String syncToken) {
+        return rxSyncPages(syncToken).concatMapIterable(Stack::items, 1);
+    }
+
+    /**
+     * Emits every page of a sync, one {@link SyncStack} per request. The last page
+     * carries the sync token to store for the next delta sync.
+     *
+     * @param syncToken the sync token received in the previous sync, or null for
+     *                  an initial sync
+     * @return {@link Flowable} of the sync pages
+     */
+    public Flowable<SyncStack> rxSyncPages(String syncToken) {
+        Flowable<SyncStack> pages = Flowable.generate(AtomicReference<SyncStack>::new, (previous, emitter) -> {
+            SyncStack last = previous.get();
+            if (last != null && last.getPaginationToken() == null) {
+                emitter.onComplete();
+                return;
+            }
+            CompletableFuture<SyncStack> page;
+            if (last != null) {
+                page = syncPaginationTokenAsync(last.getPaginationToken());
+            } else if (syncToken != null) {
+                page = syncTokenAsync(syncToken);
+            } else {
+                page = syncAsync();
+            }
+            try {
+                SyncStack syncStack = page.get();
+                previous.set(syncStack);
+                emitter.onNext(syncStack);
+            } catch (ExecutionException e) {
+                emitter.onError(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.onError(e);
+            }
+        });
+        // pages are fetched blocking inside the generator, keep that off the subscriber thread
+        return pages.subscribeOn(Schedulers.io());
     }
 
-    private void requestSync(final SyncResultCallBack callback) {
-        if (this.headers.containsKey(ENVIRONMENT)) {
-            syncParams.put(ENVIRONMENT, this.headers.get(ENVIRONMENT));
+    /**
+     * Performs a complete sync and hands every item to the consumer, following
+     * the pagination tokens on its own. Each page is parsed once and its items
+     * are delivered one at a time while the next page is being fetched, so even
+     * an initial sync of a large stack holds no more than two pages in memory.
+     * The items are delivered on the callback executor of the config, or on a
+     * background thread.
+     *
+     * @param consumer receives the items in the order of the sync
+     * @return {@link CompletableFuture} of the sync token to store for the next
+     *         delta sync, completed exceptionally with a
+     *         {@link ContentstackException} when a request fails
+     *         <p>
+     *         <b>Example :</b><br>
+     *
+     *         <pre class="prettyprint">
+     *         stack.syncAll(item -&gt; store.apply(item)).thenAccept(syncToken -&gt; store.setSyncToken(syncToken));
+     *         </pre>
+     */
+    public CompletableFuture<String> syncAll(@NotNull SyncConsumer consumer) {
+        return new SyncPager(this, consumer).run(newSyncParams());
+    }
+
+    /**
+     * Performs a delta sync like {@link #syncToken(String, SyncResultCallBack)}
+     * and hands every item to the consumer like {@link #syncAll(SyncConsumer)}.
+     *
+     * @param syncToken the sync token received in the previous sync
+     * @param consumer  receives the items in the order of the sync
+     * @return {@link CompletableFuture} of the new sync token
+     */
+    public CompletableFuture<String> syncAll(@NotNull String syncToken, @NotNull SyncConsumer consumer) {
+        JSONObject params = newSyncParams();
+        params.put("sync_token", syncToken);
+        return new SyncPager(this, consumer).run(params);
+    }
+
+    // requests one page of a sync on the executor
+    CompletableFuture<SyncStack> syncPageAsync(JSONObject params, Executor executor, Deadline deadline) {
+        CompletableFuture<SyncStack> future = new CompletableFuture<>();
+        this.syncParams = params;
+        new CSBackgroundTask(this, Constants.FETCHSYNC, SYNCHRONISATION, this.headers, getUrlParams(params),
+                REQUEST_CONTROLLER.SYNC.toString(), executor, deadline, new SyncResultCallBack() {
+                    @Override
+                    public void onCompletion(SyncStack syncStack, Error error) {
+                        ContentstackException.complete(future, syncStack, error);
+                    }
+                });
+        return future;
+    }
+
+    private static List<JSONObject> items(SyncStack page) {
+        return page.getItems() != null ? page.getItems() : Collections.emptyList();
+    }
+
+    private CompletableFuture<SyncStack> syncFuture(Consumer<SyncResultCallBack> request) {
+        CompletableFuture<SyncStack> future = new CompletableFuture<>();
+        request.accept(new SyncResultCallBack() {
+            @Override
+            public void onCompletion(SyncStack syncStack, Error error) {
+                ContentstackException.complete(future, syncStack, error);
+            }
+        });
+        return future;
+    }
+
+    // every sync request builds its own parameters, concurrent syncs don't share them
+    JSONObject newSyncParams() {
+        JSONObject params = new JSONObject();
+        params.put("init", true);
+        Object environment = header(ENVIRONMENT);
+        if (environment != null) {
+            params.put(ENVIRONMENT, environment);
         }
-        fetchFromNetwork(SYNCHRONISATION, syncParams, this.headers, callback);
+        return params;
+    }
+
+    private void requestSync(JSONObject params, final SyncResultCallBack callback) {
+        this.syncParams = params;
+        fetchFromNetwork(SYNCHRONISATION, params, this.headers, callback);
     }
 
     private void fetchContentTypes(String urlString, JSONObject contentTypeParam, HashMap<String, Object> headers,
@@ -537,6 +843,30 @@ public class Stack {
         return hashMap;
     }
 
+    /**
+     * Returns the executor for requests the SDK sends in the background, like the
+     * prefetched pages of {@link Query#iterate()}: the configured executor, or the
+     * threads of the HTTP client, which {@link #close()} shuts down.
+     *
+     * @return the background executor
+     */
+    Executor backgroundExecutor() {
+        return config.executor != null ? config.executor : client.dispatcher().executorService();
+    }
+
+    /**
+     * Releases the HTTP client of the stack: idle pooled connections are closed
+     * and the dispatcher threads are shut down. The stack must not be used for
+     * further requests once closed.
+     */
+    @Override
+    public void close() {
+        if (client != null) {
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
+
     /**
      * The enum Publish type.
      */
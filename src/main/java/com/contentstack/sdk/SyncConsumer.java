@@ -0,0 +1,31 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+/**
+ * Receives the items of a sync started with
+ * {@link Stack#syncAll(SyncConsumer)}, one at a time in the order of the sync.
+ * The consumer is never called concurrently. An exception thrown by the
+ * consumer stops the sync and completes its future exceptionally.
+ */
+@FunctionalInterface
+public interface SyncConsumer {
+
+    /**
+     * Receives the next item of the sync
+     *
+     * @param item the item, like an entry_published or asset_deleted event
+     */
+    void accept(JSONObject item);
+
+    /**
+     * Called once every item of a page was accepted. The pagination token of
+     * the page resumes the sync with
+     * {@link Stack#syncPaginationToken(String, SyncResultCallBack)} if it is
+     * interrupted, it is null on the last page.
+     *
+     * @param page the page, its items must not be kept
+     */
+    default void onPage(SyncStack page) {
+    }
+}
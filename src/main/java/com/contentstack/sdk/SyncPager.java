@@ -0,0 +1,105 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Follows the pagination tokens of a sync and hands its items to a
+ * {@link SyncConsumer}. The next page is requested as soon as a page is
+ * received, it is fetched while the consumer goes through the items of the
+ * current page, so no more than two pages are held at once.
+ */
+final class SyncPager {
+
+    private final Stack stack;
+    private final SyncConsumer consumer;
+    // the items are delivered on the callback executor, requests are sent on the background one
+    private final Executor deliveryExecutor;
+    private final Executor requestExecutor;
+    // the deadline of the scope syncAll was called in, the later pages are requested from other threads
+    private final Deadline deadline;
+    private final CompletableFuture<String> done = new CompletableFuture<>();
+
+    SyncPager(Stack stack, SyncConsumer consumer) {
+        this.stack = stack;
+        this.consumer = consumer;
+        this.requestExecutor = stack.backgroundExecutor();
+        this.deliveryExecutor = stack.config.callbackExecutor != null ? stack.config.callbackExecutor
+                : requestExecutor;
+        this.deadline = Deadline.current();
+    }
+
+    CompletableFuture<String> run(JSONObject params) {
+        dispatch(stack.syncPageAsync(params, requestExecutor, deadline));
+        return done;
+    }
+
+    // the page is delivered on the delivery executor once it is received
+    private void dispatch(CompletableFuture<SyncStack> page) {
+        page.whenComplete((syncStack, error) -> {
+            try {
+                deliveryExecutor.execute(() -> deliverFrom(page));
+            } catch (RejectedExecutionException e) {
+                fail(e);
+            }
+        });
+    }
+
+    // the pages already received are delivered in a loop and a page still in flight is dispatched,
+    // so pages don't deepen the stack, even when the executors run inline
+    private void deliverFrom(CompletableFuture<SyncStack> page) {
+        while (page != null) {
+            if (!page.isDone()) {
+                dispatch(page);
+                return;
+            }
+            page = deliver(page);
+        }
+    }
+
+    // hands the items of the page to the consumer, returns the next page or null when the sync ended
+    private CompletableFuture<SyncStack> deliver(CompletableFuture<SyncStack> received) {
+        SyncStack page;
+        try {
+            page = received.join();
+        } catch (CompletionException | CancellationException e) {
+            fail(e);
+            return null;
+        }
+        String paginationToken = page.getPaginationToken();
+        CompletableFuture<SyncStack> nextPage = null;
+        if (paginationToken != null) {
+            JSONObject params = stack.newSyncParams();
+            params.put("pagination_token", paginationToken);
+            nextPage = stack.syncPageAsync(params, requestExecutor, deadline);
+        }
+        try {
+            if (page.getItems() != null) {
+                for (JSONObject item : page.getItems()) {
+                    consumer.accept(item);
+                }
+            }
+            consumer.onPage(page);
+        } catch (RuntimeException e) {
+            if (nextPage != null) {
+                nextPage.cancel(false);
+            }
+            fail(e);
+            return null;
+        }
+        if (nextPage == null) {
+            done.complete(page.getSyncToken());
+        }
+        return nextPage;
+    }
+
+    private void fail(Throwable error) {
+        done.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+    }
+}
@@ -4,8 +4,10 @@ import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Synchronization: The Sync API takes care of syncing your Contentstack data
@@ -21,7 +23,7 @@ public class SyncStack {
     private String url;
     private String paginationToken;
     private String syncToken;
-    private ArrayList<JSONObject> syncItems;
+    private List<JSONObject> syncItems;
 
     public String getUrl() {
         return this.url;
@@ -51,6 +53,12 @@ public class SyncStack {
         return this.syncToken;
     }
 
+    /**
+     * Returns the items of the page. The list can be changed, it is read from
+     * the response until it is, and copied on its first change.
+     *
+     * @return the items, or null when the page has none
+     */
     public List<JSONObject> getItems() {
         return this.syncItems;
     }
@@ -60,10 +68,7 @@ public class SyncStack {
         if (receiveJson.has("items")) {
             JSONArray jsonarray = receiveJson.getJSONArray("items");
             if (jsonarray != null) {
-                syncItems = new ArrayList<>();
-                for (int position = 0; position < jsonarray.length(); position++) {
-                    syncItems.add(jsonarray.optJSONObject(position));
-                }
+                syncItems = new Items(jsonarray);
             }
         }
 
@@ -86,4 +91,55 @@ public class SyncStack {
         }
     }
 
+    // the items are read from the response, a page of a large sync isn't copied unless the list is changed
+    private static final class Items extends AbstractList<JSONObject> implements RandomAccess {
+        private JSONArray array;
+        private List<JSONObject> copy;
+
+        private Items(JSONArray array) {
+            this.array = array;
+        }
+
+        @Override
+        public JSONObject get(int index) {
+            if (copy != null) {
+                return copy.get(index);
+            }
+            if (index < 0 || index >= array.length()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + array.length());
+            }
+            return array.optJSONObject(index);
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : array.length();
+        }
+
+        @Override
+        public JSONObject set(int index, JSONObject element) {
+            return copy().set(index, element);
+        }
+
+        @Override
+        public void add(int index, JSONObject element) {
+            copy().add(index, element);
+            modCount++;
+        }
+
+        @Override
+        public JSONObject remove(int index) {
+            JSONObject removed = copy().remove(index);
+            modCount++;
+            return removed;
+        }
+
+        private List<JSONObject> copy() {
+            if (copy == null) {
+                copy = new ArrayList<>(this);
+                array = null;
+            }
+            return copy;
+        }
+    }
 }
@@ -0,0 +1,267 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the URL of a request in one buffer. The parameters are written in a
+ * canonical form, identical queries always give the same URL whatever the
+ * order their parameters were set in, so the CDN and the {@link ResponseCache}
+ * see one key for them:
+ * <ul>
+ * <li>parameters are sorted by name;</li>
+ * <li>the values of a parameter whose name ends with {@code []}, like
+ * {@code include[]}, are sorted and repeated;</li>
+ * <li>{@code only} and {@code except} objects are expanded to
+ * {@code only[<uid>][]} parameters, sorted the same way;</li>
+ * <li>other objects, like {@code query}, are written as JSON with sorted
+ * keys.</li>
+ * </ul>
+ * Names and values are encoded like {@link java.net.URLEncoder} with UTF-8.
+ * <p>
+ * The URL of a {@link PreparedQuery} is compiled once into a {@link Template},
+ * its parameters are encoded into their slots on every request.
+ */
+final class URLBuilder {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    // a thread keeps its buffer, unless a huge URL grew it
+    private static final int MAX_RETAINED = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> buffers = new ThreadLocal<>();
+
+    private URLBuilder() {
+    }
+
+    static String build(String path, Map<String, Object> params) {
+        StringBuilder url = buffer();
+        append(url, path, params, null);
+        return release(url);
+    }
+
+    static Template compile(String path, Map<String, Object> params) {
+        StringBuilder url = buffer();
+        List<Slot> slots = new ArrayList<>();
+        append(url, path, params, slots);
+        String[] literals = new String[slots.size() + 1];
+        int start = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            literals[i] = url.substring(start, slots.get(i).position);
+            start = slots.get(i).position;
+        }
+        literals[slots.size()] = url.substring(start);
+        release(url);
+        return new Template(literals, slots.toArray(new Slot[0]));
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder url = buffers.get();
+        if (url == null) {
+            url = new StringBuilder(512);
+            buffers.set(url);
+        }
+        url.setLength(0);
+        return url;
+    }
+
+    private static String release(StringBuilder url) {
+        String result = url.toString();
+        if (url.capacity() > MAX_RETAINED) {
+            buffers.remove();
+        }
+        return result;
+    }
+
+    // slots is null when the parameters must not contain placeholders
+    private static void append(StringBuilder url, String path, Map<String, Object> params, List<Slot> slots) {
+        url.append(path);
+        if (params != null && !params.isEmpty()) {
+            String[] names = params.keySet().toArray(new String[0]);
+            Arrays.sort(names);
+            char separator = '?';
+            for (String name : names) {
+                separator = appendParam(url, separator, name, params.get(name), slots);
+            }
+        }
+    }
+
+    // appends name=value, or one pair per value, and returns the next separator
+    private static char appendParam(StringBuilder url, char separator, String name, Object value, List<Slot> slots) {
+        if (value instanceof JSONArray && name.endsWith("[]")) {
+            for (String item : sorted((JSONArray) value)) {
+                appendName(url, separator, name);
+                appendEncoded(url, item);
+                separator = '&';
+            }
+            return separator;
+        }
+        if (value instanceof JSONObject && ("only".equals(name) || "except".equals(name))) {
+            JSONObject fields = (JSONObject) value;
+            for (String uid : sorted(fields)) {
+                JSONArray array = fields.optJSONArray(uid);
+                if (array != null) {
+                    separator = appendParam(url, separator, name + "[" + uid + "][]", array, slots);
+                }
+            }
+            return separator;
+        }
+        appendName(url, separator, name);
+        if (value instanceof PreparedQuery.Parameter) {
+            addSlot(url, slots, (PreparedQuery.Parameter) value, false);
+        } else if (value instanceof JSONObject || value instanceof JSONArray) {
+            appendJSON(url, value, slots);
+        } else {
+            appendEncoded(url, String.valueOf(value));
+        }
+        return '&';
+    }
+
+    private static void appendName(StringBuilder url, char separator, String name) {
+        url.append(separator);
+        appendEncoded(url, name);
+        url.append('=');
+    }
+
+    // JSON with the keys of objects sorted, encoded as it is written
+    private static void appendJSON(StringBuilder url, Object value, List<Slot> slots) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            url.append("%7B");
+            boolean first = true;
+            for (String key : sorted(object)) {
+                if (!first) {
+                    url.append("%2C");
+                }
+                first = false;
+                appendEncoded(url, JSONObject.quote(key));
+                url.append("%3A");
+                appendJSON(url, object.opt(key), slots);
+            }
+            url.append("%7D");
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            url.append("%5B");
+            for (int i = 0; i < array.length(); i++) {
+                if (i > 0) {
+                    url.append("%2C");
+                }
+                appendJSON(url, array.opt(i), slots);
+            }
+            url.append("%5D");
+        } else if (value instanceof PreparedQuery.Parameter) {
+            addSlot(url, slots, (PreparedQuery.Parameter) value, true);
+        } else {
+            appendEncoded(url, JSONObject.valueToString(value));
+        }
+    }
+
+    private static void addSlot(StringBuilder url, List<Slot> slots, PreparedQuery.Parameter parameter, boolean json) {
+        if (slots == null) {
+            throw new IllegalStateException("Parameter " + parameter.name + " is only allowed in a prepared query");
+        }
+        slots.add(new Slot(url.length(), parameter, json));
+    }
+
+    // the same bytes as URLEncoder.encode(value, "UTF-8"), without the intermediate strings
+    static void appendEncoded(StringBuilder url, String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-'
+                    || c == '*' || c == '_') {
+                url.append(c);
+            } else if (c == ' ') {
+                url.append('+');
+            } else if (c < 0x80) {
+                appendByte(url, c);
+            } else if (c < 0x800) {
+                appendByte(url, 0xC0 | (c >> 6));
+                appendByte(url, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(url, 0xF0 | (codePoint >> 18));
+                appendByte(url, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendByte(url, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(url, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // a lone surrogate can't be encoded, URLEncoder writes a question mark
+                appendByte(url, '?');
+            } else {
+                appendByte(url, 0xE0 | (c >> 12));
+                appendByte(url, 0x80 | ((c >> 6) & 0x3F));
+                appendByte(url, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void appendByte(StringBuilder url, int b) {
+        url.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static String[] sorted(JSONObject object) {
+        String[] keys = object.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static String[] sorted(JSONArray array) {
+        String[] items = new String[array.length()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = String.valueOf(array.opt(i));
+        }
+        Arrays.sort(items);
+        return items;
+    }
+
+    // a URL compiled with placeholders, the text between them is encoded once
+    static final class Template {
+        private final String[] literals;
+        private final Slot[] slots;
+
+        private Template(String[] literals, Slot[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+
+        List<PreparedQuery.Parameter> parameters() {
+            List<PreparedQuery.Parameter> parameters = new ArrayList<>();
+            for (Slot slot : slots) {
+                parameters.add(slot.parameter);
+            }
+            return parameters;
+        }
+
+        String expand(Map<String, Object> values) {
+            StringBuilder url = buffer();
+            url.append(literals[0]);
+            for (int i = 0; i < slots.length; i++) {
+                Slot slot = slots[i];
+                Object value = values.get(slot.parameter.name);
+                if (value == null) {
+                    throw new IllegalStateException("Parameter " + slot.parameter.name + " is not bound");
+                }
+                appendEncoded(url, slot.json ? JSONObject.valueToString(value) : String.valueOf(value));
+                url.append(literals[i + 1]);
+            }
+            return release(url);
+        }
+    }
+
+    private static final class Slot {
+        private final int position;
+        private final PreparedQuery.Parameter parameter;
+        // the value is written as JSON in the query, or as the value of a URL parameter
+        private final boolean json;
+
+        private Slot(int position, PreparedQuery.Parameter parameter, boolean json) {
+            this.position = position;
+            this.parameter = parameter;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class TestAsync {
+
+    private static StubServer server() throws Exception {
+        return new StubServer(exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (path.contains("/missing/")) {
+                StubServer.respond(exchange, 422,
+                        "{\"error_message\":\"The Content Type 'missing' was not found.\",\"error_code\":118}");
+            } else if (path.endsWith("/entries")) {
+                StubServer.respond(exchange, 200, "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1},"
+                        + "{\"uid\":\"b\",\"title\":\"B\",\"_version\":1}]}");
+            } else if (path.endsWith("/stacks/sync")) {
+                StubServer.respond(exchange, 200, "{\"items\":[],\"sync_token\":\"token\"}");
+            } else {
+                String uid = path.substring(path.lastIndexOf('/') + 1);
+                StubServer.respond(exchange, 200,
+                        "{\"entry\":{\"uid\":\"" + uid + "\",\"title\":\"" + uid + "\",\"_version\":1}}");
+            }
+        });
+    }
+
+    private static ContentstackException failure(CompletableFuture<?> future) {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof ContentstackException, e.getCause().toString());
+        return (ContentstackException) e.getCause();
+    }
+
+    @Test
+    void testFuturesCompleteWithResults() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            Assertions.assertEquals(2, stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS)
+                    .getResultObjects().size());
+            Assertions.assertEquals("a", stack.contentType("blog").query().findOneAsync().get(5, TimeUnit.SECONDS)
+                    .getUid());
+            Assertions.assertEquals("b", stack.contentType("blog").entry("b").fetchAsync().get(5, TimeUnit.SECONDS)
+                    .getTitle());
+            Assertions.assertEquals("token", stack.syncAsync().get(5, TimeUnit.SECONDS).getSyncToken());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testFetchesFanOutInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config().setExecutor(executor));
+            CompletableFuture<Entry> first = stack.contentType("blog").entry("one").fetchAsync();
+            CompletableFuture<Entry> second = stack.contentType("blog").entry("two").fetchAsync();
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("one", first.join().getTitle());
+            Assertions.assertEquals("two", second.join().getTitle());
+            stack.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedRequestCompletesExceptionally() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            ContentstackException e = failure(stack.contentType("missing").query().findAsync());
+            Assertions.assertEquals(118, e.getError().getErrorCode());
+            Assertions.assertEquals("The Content Type 'missing' was not found.", e.getMessage());
+            failure(stack.contentType("missing").entry("a").fetchAsync());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testInvalidQueryCompletesExceptionally() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            // a parameter is only allowed in a prepared query, the request is never sent
+            ContentstackException e = failure(stack.contentType("blog").query()
+                    .where("url", PreparedQuery.param("url", String.class)).findAsync());
+            Assertions.assertTrue(e.getMessage().contains("prepared query"));
+            failure(stack.contentType("blog").query().where("url", PreparedQuery.param("url", String.class))
+                    .findOneAsync());
+            failure(stack.contentType("blog").query().and(new ArrayList<>()).findOneAsync());
+            Assertions.assertEquals(0, server.requestCount());
+            stack.close();
+        }
+    }
+}
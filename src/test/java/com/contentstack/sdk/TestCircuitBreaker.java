@@ -0,0 +1,152 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TestCircuitBreaker {
+
+    private static final String HOST = "https://cdn.contentstack.io";
+
+    // finds the entries of blog, the future completes with where they came from and the first title
+    private static CompletableFuture<String> find(Stack stack) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        stack.contentType("blog").query().find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                future.complete(error != null ? "error " + error.getErrorCode()
+                        : responseType + " " + queryresult.getResultObjects().get(0).getTitle());
+            }
+        });
+        return future;
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 1, TimeUnit.HOURS);
+        breaker.onFailure(HOST);
+        breaker.onFailure(HOST);
+        breaker.onSuccess(HOST);
+        breaker.onFailure(HOST);
+        breaker.onFailure(HOST);
+        Assertions.assertTrue(breaker.allowRequest(HOST));
+        breaker.onFailure(HOST);
+        Assertions.assertTrue(breaker.isOpen(HOST));
+        Assertions.assertFalse(breaker.allowRequest(HOST));
+        Assertions.assertTrue(breaker.allowRequest("https://eu-cdn.contentstack.com"));
+        Assertions.assertTrue(breaker.openHosts().contains(HOST));
+    }
+
+    @Test
+    void testSingleProbeAfterOpenDuration() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0, TimeUnit.SECONDS);
+        breaker.onFailure(HOST);
+        Assertions.assertTrue(breaker.allowRequest(HOST));
+        Assertions.assertFalse(breaker.allowRequest(HOST));
+        breaker.onAbandoned(HOST);
+        Assertions.assertTrue(breaker.allowRequest(HOST));
+        breaker.onFailure(HOST);
+        Assertions.assertTrue(breaker.isOpen(HOST));
+        Assertions.assertTrue(breaker.allowRequest(HOST));
+        breaker.onSuccess(HOST);
+        Assertions.assertFalse(breaker.isOpen(HOST));
+        Assertions.assertTrue(breaker.openHosts().isEmpty());
+    }
+
+    @Test
+    void testProbeFailingToSendIsReleased() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0, TimeUnit.SECONDS);
+        try (StubServer server = StubServer.json("{\"entries\":[]}")) {
+            Stack stack = server.stack(new Config().setCircuitBreaker(breaker));
+            breaker.onFailure(server.endpoint());
+            stack.service = (url, headers) -> {
+                throw new IllegalStateException("Malformed request");
+            };
+            CompletionException e = Assertions.assertThrows(CompletionException.class,
+                    () -> stack.contentType("blog").query().findAsync().join());
+            Assertions.assertEquals("Malformed request", e.getCause().getMessage());
+            // the probe never reached the host, the next request probes it
+            Assertions.assertTrue(breaker.isOpen(server.endpoint()));
+            Assertions.assertTrue(breaker.allowRequest(server.endpoint()));
+            stack.close();
+        }
+    }
+
+    @Test
+    void testOpenCircuitAnswersStaleAndProbesOnce() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, 300, TimeUnit.MILLISECONDS);
+        // responses of blog expire at once, they are kept for their ETag
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES).setTTL("blog", 1, TimeUnit.NANOSECONDS);
+        AtomicReference<String> title = new AtomicReference<>("A");
+        try (StubServer server = new StubServer(exchange -> {
+            if (title.get() == null) {
+                StubServer.respond(exchange, 503, "");
+                return;
+            }
+            StubServer.sleep(100);
+            if (("\"" + title.get() + "\"").equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                StubServer.respond(exchange, 304, "");
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"" + title.get() + "\"");
+            StubServer.respond(exchange, 200,
+                    "{\"entries\":[{\"uid\":\"a\",\"title\":\"" + title.get() + "\",\"_version\":1}]}");
+        })) {
+            Stack stack = server.stack(new Config().setCircuitBreaker(breaker).setResponseCache(cache));
+            Assertions.assertEquals("NETWORK A", find(stack).get(5, TimeUnit.SECONDS));
+            title.set(null);
+            Assertions.assertEquals("error 503", find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("error 503", find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(breaker.isOpen(server.endpoint()));
+            Assertions.assertEquals(3, server.requestCount());
+
+            // open, the expired response answers without a request
+            Assertions.assertEquals("STALE A", find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(3, server.requestCount());
+
+            // after the open duration a single probe is sent while the others still get the stale response
+            StubServer.sleep(350);
+            title.set("A");
+            cache.setTTL("blog", 1, TimeUnit.MINUTES);
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertEquals("STALE A", find(stack).get(5, TimeUnit.SECONDS));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.revalidationCount() == 0 && System.nanoTime() < deadline) {
+                StubServer.sleep(10);
+            }
+            Assertions.assertFalse(breaker.isOpen(server.endpoint()));
+            Assertions.assertEquals(4, server.requestCount());
+
+            // the probe revalidated the cached response, it is fresh again
+            Assertions.assertEquals("CACHE A", find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(4, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testExpiredDeadlinesDoNotOpenTheCircuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, TimeUnit.MINUTES);
+        try (StubServer server = new StubServer(exchange -> {
+            StubServer.sleep(200);
+            StubServer.respond(exchange, 200, "{\"entries\":[]}");
+        })) {
+            Stack stack = server.stack(new Config().setCircuitBreaker(breaker));
+            for (int i = 0; i < 4; i++) {
+                CompletionException e = Assertions.assertThrows(CompletionException.class, () -> stack
+                        .contentType("blog").query().setDeadline(Deadline.after(50, TimeUnit.MILLISECONDS))
+                        .findAsync().join());
+                Assertions.assertEquals(408, ((ContentstackException) e.getCause()).getError().getErrorCode());
+            }
+            // the host is slow, not failing
+            Assertions.assertFalse(breaker.isOpen(server.endpoint()));
+            Assertions.assertTrue(breaker.allowRequest(server.endpoint()));
+            stack.close();
+        }
+    }
+}
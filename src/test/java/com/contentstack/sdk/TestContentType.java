@@ -5,7 +5,9 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -69,7 +71,7 @@ class TestContentType {
         Entry entry = contentType.entry("just-fake-it");
         Assertions.assertEquals("product", entry.getContentType());
         Assertions.assertEquals("just-fake-it", entry.uid);
-        Assertions.assertEquals(5, entry.headers.size());
+        Assertions.assertEquals(3, entry.headers.size());
         logger.info("passed...");
     }
 
@@ -78,7 +80,7 @@ class TestContentType {
         ContentType contentType = stack.contentType("product");
         Query query = contentType.query();
         Assertions.assertEquals("product", query.getContentType());
-        Assertions.assertEquals(5, query.headers.size());
+        Assertions.assertEquals(3, query.headers.size());
         logger.info("passed...");
     }
 
@@ -119,4 +121,41 @@ class TestContentType {
         backgroundTask.checkHeader(mapHeader);
     }
 
+    @Test
+    void testDerivedHeadersAreIndependent() {
+        ContentType contentType = stack.contentType("product");
+        Query query = contentType.query();
+        query.setHeader("queryHeader", "queryValue");
+        Entry entry = contentType.entry("just-fake-it");
+        entry.setHeader("entryHeader", "entryValue");
+        Assertions.assertFalse(contentType.query().headers.containsKey("queryHeader"));
+        Assertions.assertFalse(contentType.headers.containsKey("entryHeader"));
+        Assertions.assertFalse(stack.headers.containsKey("queryHeader"));
+    }
+
+    @Test
+    void testResultEntryHeadersAreIndependent() {
+        Query query = stack.contentType("product").query();
+        JSONObject response = new JSONObject()
+                .put("entries", new JSONArray()
+                        .put(new JSONObject().put("uid", "first").put("_version", 1))
+                        .put(new JSONObject().put("uid", "second").put("_version", 1)));
+        List<Object> objects = new ArrayList<>();
+        for (Object entry : response.getJSONArray("entries")) {
+            objects.add(new EntryModel((JSONObject) entry));
+        }
+        List<Entry> entries = new ArrayList<>();
+        query.getResultObject(objects, response, false, new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                entries.addAll(queryresult.getResultObjects());
+            }
+        }, ResponseType.NETWORK);
+        Assertions.assertEquals(2, entries.size());
+        entries.get(0).setHeader("locale", "fr-fr");
+        entries.get(0).removeHeader("environment");
+        Assertions.assertFalse(entries.get(1).headers.containsKey("locale"));
+        Assertions.assertEquals(ENV, entries.get(1).headers.get("environment"));
+    }
+
 }
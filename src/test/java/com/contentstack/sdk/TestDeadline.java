@@ -0,0 +1,146 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TestDeadline {
+
+    // a server answering after 300 milliseconds
+    private static StubServer slowServer() throws Exception {
+        return new StubServer(exchange -> {
+            StubServer.sleep(300);
+            StubServer.respond(exchange, 200, "{\"entries\":[]}");
+        });
+    }
+
+    private static Error failure(CompletableFuture<?> future) {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof ContentstackException, e.getCause().toString());
+        return ((ContentstackException) e.getCause()).getError();
+    }
+
+    @Test
+    void testRemaining() {
+        Deadline deadline = Deadline.after(1, TimeUnit.MINUTES);
+        Assertions.assertFalse(deadline.isExpired());
+        long remaining = deadline.remaining(TimeUnit.SECONDS);
+        Assertions.assertTrue(remaining > 55 && remaining <= 60);
+    }
+
+    @Test
+    void testExpired() {
+        Deadline deadline = Deadline.after(0, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(deadline.isExpired());
+        Assertions.assertEquals(0, deadline.remaining(TimeUnit.NANOSECONDS));
+        Assertions.assertTrue(Deadline.after(-1, TimeUnit.SECONDS).isExpired());
+    }
+
+    @Test
+    void testScopesNest() {
+        Deadline outer = Deadline.after(1, TimeUnit.MINUTES);
+        Deadline inner = Deadline.after(1, TimeUnit.SECONDS);
+        Assertions.assertNull(Deadline.current());
+        outer.run(() -> {
+            Assertions.assertSame(outer, Deadline.current());
+            inner.run(() -> Assertions.assertSame(inner, Deadline.current()));
+            Assertions.assertSame(outer, Deadline.current());
+        });
+        Assertions.assertNull(Deadline.current());
+    }
+
+    @Test
+    void testScopeEndsWhenTaskThrows() {
+        Deadline deadline = Deadline.after(1, TimeUnit.MINUTES);
+        Assertions.assertThrows(IllegalStateException.class, () -> deadline.run(() -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertNull(Deadline.current());
+    }
+
+    @Test
+    void testSlowResponseFailsWhenTheDeadlineExpires() throws Exception {
+        try (StubServer server = slowServer()) {
+            Stack stack = server.stack(new Config());
+            CompletableFuture<Error> failed = new CompletableFuture<>();
+            long start = System.nanoTime();
+            stack.contentType("blog").query().setDeadline(Deadline.after(50, TimeUnit.MILLISECONDS))
+                    .find(new QueryResultsCallBack() {
+                        @Override
+                        public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                            failed.complete(error);
+                        }
+                    });
+            Error error = failed.get(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(error);
+            Assertions.assertEquals(408, error.getErrorCode());
+            Assertions.assertEquals("Deadline exceeded", error.getErrorMessage());
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(250));
+            stack.close();
+        }
+    }
+
+    @Test
+    void testBackoffLongerThanTheDeadlineFailsAtOnce() throws Exception {
+        try (StubServer server = new StubServer(exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "5");
+            StubServer.respond(exchange, 503, "");
+        })) {
+            Stack stack = server.stack(new Config()
+                    .setRetryPolicy(new RetryPolicy().setBackoff(100, 10000, TimeUnit.MILLISECONDS)));
+            long start = System.nanoTime();
+            Error error = failure(stack.contentType("blog").query()
+                    .setDeadline(Deadline.after(1, TimeUnit.SECONDS)).findAsync());
+            Assertions.assertEquals(408, error.getErrorCode());
+            Assertions.assertEquals("Deadline exceeded", error.getErrorMessage());
+            // the retry could not be sent in time, it is not waited for
+            Assertions.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+            Assertions.assertEquals(1, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testRateLimitWaitUsingUpTheDeadlineFails() throws Exception {
+        try (StubServer server = slowServer()) {
+            for (int i = 0; i < 10; i++) {
+                RateLimiter rateLimiter = new RateLimiter(10, 1);
+                Stack stack = server.stack(new Config().setRateLimiter(rateLimiter));
+                // the next permit is due in 100 milliseconds, when the deadline expires
+                Assertions.assertTrue(rateLimiter.tryAcquire());
+                Error error = failure(stack.contentType("blog").query()
+                        .setDeadline(Deadline.after(100, TimeUnit.MILLISECONDS)).findAsync());
+                Assertions.assertEquals(408, error.getErrorCode());
+                Assertions.assertEquals("Deadline exceeded", error.getErrorMessage());
+                stack.close();
+            }
+        }
+    }
+
+    @Test
+    void testScopeReachesRequestsOnTheExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (StubServer server = slowServer()) {
+            Stack stack = server.stack(new Config().setExecutor(executor));
+            AtomicReference<CompletableFuture<QueryResult>> future = new AtomicReference<>();
+            Deadline.after(50, TimeUnit.MILLISECONDS)
+                    .run(() -> future.set(stack.contentType("blog").query().findAsync()));
+            Error error = failure(future.get());
+            Assertions.assertEquals(408, error.getErrorCode());
+            Assertions.assertEquals("Deadline exceeded", error.getErrorMessage());
+            // outside the scope the request has no deadline
+            Assertions.assertEquals(0, stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS)
+                    .getResultObjects().size());
+            stack.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
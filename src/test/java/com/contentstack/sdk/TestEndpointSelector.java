@@ -0,0 +1,114 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class TestEndpointSelector {
+
+    private static final String PRIMARY = "https://cdn.contentstack.io";
+    private static final String BACKUP = "https://backup.example.com";
+    private static final String PROXY = "http://localhost:8080";
+
+    @Test
+    void testMeasuresEveryEndpointOnceInOrder() {
+        EndpointSelector selector = new EndpointSelector(BACKUP, PROXY);
+        Assertions.assertEquals(Arrays.asList(PRIMARY, BACKUP, PROXY), selector.rank(PRIMARY));
+        selector.onSuccess(PRIMARY, 30);
+        Assertions.assertEquals(Arrays.asList(BACKUP, PRIMARY, PROXY), selector.rank(PRIMARY));
+        selector.onSuccess(BACKUP, 20);
+        Assertions.assertEquals(Arrays.asList(PROXY, BACKUP, PRIMARY), selector.rank(PRIMARY));
+        selector.onSuccess(PROXY, 10);
+        Assertions.assertEquals(Arrays.asList(PROXY, BACKUP, PRIMARY), selector.rank(PRIMARY));
+    }
+
+    @Test
+    void testOneRequestAtATimeMeasures() {
+        EndpointSelector selector = new EndpointSelector(BACKUP);
+        Assertions.assertEquals(PRIMARY, selector.rank(PRIMARY).get(0));
+        Assertions.assertEquals(BACKUP, selector.rank(PRIMARY).get(0));
+        // both are being measured, the unmeasured keep their order
+        Assertions.assertEquals(Arrays.asList(PRIMARY, BACKUP), selector.rank(PRIMARY));
+    }
+
+    @Test
+    void testRanksByLatency() {
+        EndpointSelector selector = new EndpointSelector(BACKUP);
+        selector.onSuccess(PRIMARY, TimeUnit.MILLISECONDS.toNanos(80));
+        selector.onSuccess(BACKUP, TimeUnit.MILLISECONDS.toNanos(20));
+        Assertions.assertEquals(Arrays.asList(BACKUP, PRIMARY), selector.rank(PRIMARY));
+        Assertions.assertEquals(20, selector.latency(BACKUP, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(-1, selector.latency(PROXY, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testOldLatencyIsMeasuredAgain() throws InterruptedException {
+        EndpointSelector selector = new EndpointSelector(BACKUP).setMeasureInterval(100, TimeUnit.MILLISECONDS);
+        selector.onSuccess(PRIMARY, TimeUnit.MILLISECONDS.toNanos(80));
+        selector.onSuccess(BACKUP, TimeUnit.MILLISECONDS.toNanos(20));
+        Thread.sleep(150);
+        Assertions.assertEquals(Arrays.asList(PRIMARY, BACKUP), selector.rank(PRIMARY));
+        selector.onSuccess(PRIMARY, TimeUnit.MILLISECONDS.toNanos(10));
+        // the new latency replaces the old average
+        Assertions.assertEquals(10, selector.latency(PRIMARY, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testFailedEndpointIsSkippedForTheCooldown() throws InterruptedException {
+        EndpointSelector selector = new EndpointSelector(BACKUP).setCooldown(100, TimeUnit.MILLISECONDS);
+        selector.onSuccess(PRIMARY, 10);
+        selector.onSuccess(BACKUP, 50);
+        selector.onFailure(PRIMARY);
+        Assertions.assertEquals(Arrays.asList(BACKUP, PRIMARY), selector.rank(PRIMARY));
+        Assertions.assertEquals(Collections.singleton(PRIMARY), selector.unhealthyEndpoints());
+        Thread.sleep(150);
+        Assertions.assertEquals(Arrays.asList(PRIMARY, BACKUP), selector.rank(PRIMARY));
+        Assertions.assertTrue(selector.unhealthyEndpoints().isEmpty());
+    }
+
+    @Test
+    void testNormalizesEndpoints() {
+        EndpointSelector selector = new EndpointSelector("https://backup.example.com:443/", PRIMARY);
+        Assertions.assertEquals(Arrays.asList(PRIMARY, BACKUP), selector.rank(PRIMARY));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EndpointSelector("backup.example.com"));
+    }
+
+    @Test
+    void testRequestsFailOverAndComeBackToThePrimary() throws Exception {
+        String entries = "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}";
+        AtomicBoolean down = new AtomicBoolean(true);
+        StubServer closed = StubServer.json(entries);
+        // nothing listens on the port of the closed server anymore, connecting is refused
+        String refused = closed.endpoint();
+        closed.close();
+        try (StubServer primary = new StubServer(exchange -> StubServer.respond(exchange, down.get() ? 503 : 200,
+                down.get() ? "" : entries)); StubServer backup = StubServer.json(entries)) {
+            EndpointSelector selector = new EndpointSelector(refused, backup.endpoint())
+                    .setCooldown(200, TimeUnit.MILLISECONDS);
+            Stack stack = primary.stack(new Config().setEndpointSelector(selector));
+            Assertions.assertEquals(1, stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS)
+                    .getResultObjects().size());
+            Assertions.assertEquals(1, primary.requestCount());
+            Assertions.assertEquals(1, backup.requestCount());
+            Assertions.assertEquals(new HashSet<>(Arrays.asList(primary.endpoint(), refused)),
+                    selector.unhealthyEndpoints());
+            // the failed endpoints are skipped during the cooldown
+            stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, primary.requestCount());
+            Assertions.assertEquals(2, backup.requestCount());
+            down.set(false);
+            Thread.sleep(250);
+            // the primary recovered, it is measured again and answers
+            stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(2, primary.requestCount());
+            Assertions.assertEquals(2, backup.requestCount());
+            Assertions.assertTrue(selector.latency(primary.endpoint(), TimeUnit.NANOSECONDS) > 0);
+            stack.close();
+        }
+    }
+}
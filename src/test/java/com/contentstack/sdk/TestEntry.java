@@ -84,7 +84,7 @@ class TestEntry {
     @Test
     @Order(4)
     void entryCalling() {
-        Assertions.assertEquals(5, entry.headers.size());
+        Assertions.assertEquals(3, entry.headers.size());
         logger.info("passed...");
     }
 
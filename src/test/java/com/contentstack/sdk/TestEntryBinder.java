@@ -0,0 +1,134 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+class TestEntryBinder {
+
+    static class Seo {
+        String title;
+        boolean indexed;
+    }
+
+    static class Product {
+        static String ignoredStatic;
+        String uid;
+        String title;
+        int quantity;
+        long views;
+        @EntryField("price_in_usd")
+        double price;
+        Integer rating;
+        List<String> tags;
+        List<Seo> variants;
+        Seo seo;
+        transient String ignored;
+    }
+
+    enum Color {
+        RED, DARK_BLUE
+    }
+
+    static class Catalog {
+        Color color;
+        Color shade;
+        Color unknown;
+        Map<String, Integer> stock;
+        Map<String, Seo> seoByLocale;
+        int[] sizes;
+        String[] labels;
+        Set<String> markets;
+        BigDecimal price;
+        char grade;
+        byte level;
+        Date published;
+        String title;
+    }
+
+    static class NoDefaultConstructor {
+        final String title;
+
+        NoDefaultConstructor(String title) {
+            this.title = title;
+        }
+    }
+
+    private static final String PRODUCT = "{\"uid\":\"blt1\",\"title\":\"Phone\",\"quantity\":3,"
+            + "\"views\":12345678901234,\"price_in_usd\":199.5,\"rating\":null,\"tags\":[\"a\",\"b\"],"
+            + "\"variants\":[{\"title\":\"Red\"},{\"title\":\"Blue\",\"indexed\":true}],"
+            + "\"seo\":{\"title\":\"Buy\",\"indexed\":true},\"ignored\":\"x\"}";
+
+    @Test
+    void testBindProduct() {
+        Product product = EntryBinder.of(Product.class).bind(new JSONObject(PRODUCT));
+        Assertions.assertEquals("blt1", product.uid);
+        Assertions.assertEquals("Phone", product.title);
+        Assertions.assertEquals(3, product.quantity);
+        Assertions.assertEquals(12345678901234L, product.views);
+        Assertions.assertEquals(199.5, product.price);
+        Assertions.assertNull(product.rating);
+        Assertions.assertEquals(2, product.tags.size());
+        Assertions.assertEquals("Blue", product.variants.get(1).title);
+        Assertions.assertTrue(product.variants.get(1).indexed);
+        Assertions.assertTrue(product.seo.indexed);
+        Assertions.assertNull(product.ignored);
+    }
+
+    @Test
+    void testBinderIsCompiledOncePerClass() {
+        Assertions.assertSame(EntryBinder.of(Product.class), EntryBinder.of(Product.class));
+    }
+
+    @Test
+    void testBindCommonTypes() {
+        Catalog catalog = EntryBinder.of(Catalog.class).bind(new JSONObject("{\"color\":\"RED\","
+                + "\"shade\":\"dark_blue\",\"unknown\":\"green\",\"stock\":{\"s\":2,\"m\":0},"
+                + "\"seoByLocale\":{\"en-us\":{\"title\":\"Buy\"}},\"sizes\":[38,40,\"x\"],"
+                + "\"labels\":[\"new\",\"sale\"],\"markets\":[\"us\",\"eu\",\"us\"],"
+                + "\"price\":19.99,\"grade\":\"A\",\"level\":3,\"published\":\"2024-01-01\","
+                + "\"title\":\"Shoes\"}"));
+        Assertions.assertEquals(Color.RED, catalog.color);
+        Assertions.assertEquals(Color.DARK_BLUE, catalog.shade);
+        Assertions.assertNull(catalog.unknown);
+        Assertions.assertEquals(Integer.valueOf(2), catalog.stock.get("s"));
+        Assertions.assertEquals("Buy", catalog.seoByLocale.get("en-us").title);
+        Assertions.assertArrayEquals(new int[] { 38, 40, 0 }, catalog.sizes);
+        Assertions.assertArrayEquals(new String[] { "new", "sale" }, catalog.labels);
+        Assertions.assertEquals(2, catalog.markets.size());
+        Assertions.assertEquals(new BigDecimal("19.99"), catalog.price);
+        Assertions.assertEquals('A', catalog.grade);
+        Assertions.assertEquals(3, catalog.level);
+        // fields of unsupported types are left unset, the others are still bound
+        Assertions.assertNull(catalog.published);
+        Assertions.assertEquals("Shoes", catalog.title);
+    }
+
+    @Test
+    void testClassWithoutNoArgumentConstructor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EntryBinder.of(NoDefaultConstructor.class));
+    }
+
+    @Test
+    void testAsyncBindingFailsTheFuture() throws Exception {
+        try (StubServer server = StubServer.json("{\"entries\":[]}")) {
+            Stack stack = server.stack(new Config());
+            CompletionException e = Assertions.assertThrows(CompletionException.class,
+                    () -> stack.contentType("blog").query().findAsync(NoDefaultConstructor.class).join());
+            Assertions.assertTrue(e.getCause() instanceof IllegalArgumentException);
+            e = Assertions.assertThrows(CompletionException.class,
+                    () -> stack.contentType("blog").entry("blt1").fetchAsync(NoDefaultConstructor.class).join());
+            Assertions.assertTrue(e.getCause() instanceof IllegalArgumentException);
+            // the class can not be bound, no request is sent
+            Assertions.assertEquals(0, server.requestCount());
+            stack.close();
+        }
+    }
+}
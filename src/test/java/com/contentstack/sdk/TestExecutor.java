@@ -0,0 +1,100 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class TestExecutor {
+
+    private static final String ENTRIES = "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}";
+
+    private static ExecutorService named(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+    }
+
+    // completes with the name of the thread the callback ran on, or fails with the error
+    private static CompletableFuture<String> find(Stack stack) {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        stack.contentType("blog").query().find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                if (error != null) {
+                    thread.completeExceptionally(new ContentstackException(error));
+                } else {
+                    thread.complete(Thread.currentThread().getName());
+                }
+            }
+        });
+        return thread;
+    }
+
+    @Test
+    void testRequestIsSentOnTheExecutor() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = named("request");
+        try (StubServer server = new StubServer(exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubServer.respond(exchange, 200, ENTRIES);
+        })) {
+            Stack stack = server.stack(new Config().setExecutor(executor));
+            CompletableFuture<String> thread = find(stack);
+            // the caller is not blocked by the round-trip
+            Assertions.assertFalse(thread.isDone());
+            release.countDown();
+            Assertions.assertEquals("request", thread.get(5, TimeUnit.SECONDS));
+            stack.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCallbackRunsOnTheCallbackExecutor() throws Exception {
+        ExecutorService executor = named("request");
+        ExecutorService callbackExecutor = named("callback");
+        try (StubServer server = StubServer.json(ENTRIES)) {
+            Stack stack = server.stack(new Config().setExecutor(executor).setCallbackExecutor(callbackExecutor));
+            Assertions.assertEquals("callback", find(stack).get(5, TimeUnit.SECONDS));
+            stack.close();
+        } finally {
+            executor.shutdownNow();
+            callbackExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRejectedCallbackRunsOnTheRequestThread() throws Exception {
+        ExecutorService executor = named("request");
+        ExecutorService callbackExecutor = named("callback");
+        callbackExecutor.shutdown();
+        try (StubServer server = StubServer.json(ENTRIES)) {
+            Stack stack = server.stack(new Config().setExecutor(executor).setCallbackExecutor(callbackExecutor));
+            Assertions.assertEquals("request", find(stack).get(5, TimeUnit.SECONDS));
+            stack.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRejectedRequestFailsTheCallback() throws Exception {
+        ExecutorService executor = named("request");
+        executor.shutdown();
+        try (StubServer server = StubServer.json(ENTRIES)) {
+            Stack stack = server.stack(new Config().setExecutor(executor));
+            CompletableFuture<String> thread = find(stack);
+            Assertions.assertTrue(thread.isCompletedExceptionally());
+            Assertions.assertEquals(0, server.requestCount());
+            stack.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestHedgingPolicy {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String ENTRIES = "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}";
+
+    @Test
+    void testDelayIsThePercentileOfTheLatencies() {
+        HedgingPolicy policy = new HedgingPolicy(0.9, 0.1);
+        for (int i = 1; i < 20; i++) {
+            policy.record(i * MILLIS);
+        }
+        Assertions.assertEquals(-1, policy.delay());
+        policy.record(20 * MILLIS);
+        Assertions.assertEquals(18 * MILLIS, policy.delay());
+        policy.setMinDelay(50, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(50 * MILLIS, policy.delay());
+    }
+
+    @Test
+    void testHedgesStayWithinTheBudget() {
+        HedgingPolicy policy = new HedgingPolicy(0.9, 0.1);
+        int hedged = 0;
+        for (int i = 0; i < 100; i++) {
+            policy.delay();
+            if (policy.tryHedge()) {
+                hedged++;
+            }
+        }
+        Assertions.assertEquals(10, hedged);
+        Assertions.assertEquals(10, policy.hedgeCount());
+        Assertions.assertFalse(new HedgingPolicy(0.9, 0).tryHedge());
+    }
+
+    // a policy hedging every request after 50 milliseconds
+    private static HedgingPolicy hedgeAfter50Millis() {
+        HedgingPolicy policy = new HedgingPolicy(0.5, 1).setMinDelay(50, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 20; i++) {
+            policy.record(MILLIS);
+        }
+        return policy;
+    }
+
+    // the first call to arrive is answered after firstDelay with firstStatus, the other one after 300
+    // milliseconds or at once; either call may arrive first, so the tests only check that the error did not win
+    private static StubServer server(long firstDelay, int firstStatus, boolean slowHedge) throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        return new StubServer(exchange -> {
+            boolean first = calls.incrementAndGet() == 1;
+            StubServer.sleep(first ? firstDelay : slowHedge ? 300 : 0);
+            int status = first ? firstStatus : firstStatus == 200 ? 503 : 200;
+            StubServer.respond(exchange, status, status == 200 ? ENTRIES : "");
+        });
+    }
+
+    @Test
+    void testFastErrorOfTheHedgeDoesNotWin() throws Exception {
+        HedgingPolicy policy = hedgeAfter50Millis();
+        try (StubServer server = server(300, 200, false)) {
+            Stack stack = server.stack(new Config().setHedgingPolicy(policy));
+            QueryResult result = stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, result.getResultObjects().size());
+            Assertions.assertEquals(1, policy.hedgeCount());
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testErrorOfTheRequestWaitsForTheHedge() throws Exception {
+        HedgingPolicy policy = hedgeAfter50Millis();
+        try (StubServer server = server(100, 503, true)) {
+            Stack stack = server.stack(new Config().setHedgingPolicy(policy));
+            QueryResult result = stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, result.getResultObjects().size());
+            Assertions.assertEquals(1, policy.hedgeCount());
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testDelayStaysInAConstantSlowTail() throws Exception {
+        // every fifth request takes 100 milliseconds, the 90th percentile is in that tail
+        HedgingPolicy policy = new HedgingPolicy(0.9, 1);
+        for (int i = 0; i < 20; i++) {
+            policy.record((i % 5 == 0 ? 100 : 2) * MILLIS);
+        }
+        Assertions.assertEquals(100 * MILLIS, policy.delay());
+        AtomicInteger calls = new AtomicInteger();
+        try (StubServer server = new StubServer(exchange -> {
+            StubServer.sleep(calls.incrementAndGet() % 5 == 0 ? 100 : 2);
+            StubServer.respond(exchange, 200, ENTRIES);
+        })) {
+            Stack stack = server.stack(new Config().setHedgingPolicy(policy));
+            for (int i = 0; i < 48; i++) {
+                stack.contentType("blog").query().findAsync().get(5, TimeUnit.SECONDS);
+            }
+            // the hedged requests record the latency their callers saw, which is still above the delay
+            long delay = policy.delay();
+            Assertions.assertTrue(delay >= 90 * MILLIS, "the delay drifted down to " + delay / MILLIS + " ms");
+            Assertions.assertTrue(policy.hedgeCount() > 0);
+            stack.close();
+        }
+    }
+}
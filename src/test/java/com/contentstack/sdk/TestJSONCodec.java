@@ -0,0 +1,89 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+class TestJSONCodec {
+
+    private static final String RESPONSE = "{\"count\":2,\"entries\":[{\"uid\":\"blt1\",\"title\":\"One\",\"_version\":1,"
+            + "\"price\":12.5,\"tags\":[\"a\",\"b\"],\"ref\":[{\"uid\":\"blt9\",\"x\":\"]}\"}],\"none\":null},"
+            + "{\"uid\":\"blt2\",\"title\":\"Two\",\"_version\":3,\"big\":12345678901234}],"
+            + "\"schema\":[{\"uid\":\"title\"}],\"content_type\":{\"uid\":\"product\"}}";
+
+    @Test
+    void testOrgJSONCodecMatchesJSONObject() throws IOException {
+        JSONObject decoded = new OrgJSONCodec().decode(new StringReader(RESPONSE));
+        Assertions.assertTrue(new JSONObject(RESPONSE).similar(decoded));
+    }
+
+    @Test
+    void testGsonJSONCodecMatchesJSONObject() throws IOException {
+        JSONObject decoded = new GsonJSONCodec().decode(new StringReader(RESPONSE));
+        Assertions.assertTrue(new JSONObject(RESPONSE).similar(decoded));
+        Assertions.assertEquals(JSONObject.NULL, decoded.getJSONArray("entries").getJSONObject(0).get("none"));
+        Assertions.assertEquals(1, decoded.getJSONArray("entries").getJSONObject(0).get("_version"));
+    }
+
+    @Test
+    void testCodecsVisitEntries() throws IOException {
+        for (JSONCodec codec : new JSONCodec[] { new OrgJSONCodec(), new GsonJSONCodec(), new LazyJSONCodec() }) {
+            List<String> visited = new ArrayList<>();
+            JSONObject decoded = codec.decode(new StringReader(RESPONSE), "entries",
+                    entry -> visited.add(entry.getString("uid")));
+            Assertions.assertEquals(2, visited.size());
+            Assertions.assertEquals("blt1", visited.get(0));
+            Assertions.assertEquals("blt2", visited.get(1));
+            Assertions.assertEquals(2, decoded.getJSONArray("entries").length());
+        }
+    }
+
+    @Test
+    void testEntriesModelFromCodec() throws IOException {
+        EntriesModel model = new EntriesModel(new OrgJSONCodec(), new StringReader(RESPONSE));
+        Assertions.assertEquals(2, model.objectList.size());
+        Assertions.assertEquals("Two", ((EntryModel) model.objectList.get(1)).title);
+        Assertions.assertEquals(2, model.jsonObject.optInt("count"));
+    }
+
+    @Test
+    void testEmptyAndNullEntries() throws IOException {
+        for (JSONCodec codec : new JSONCodec[] { new OrgJSONCodec(), new GsonJSONCodec(), new LazyJSONCodec() }) {
+            Assertions.assertTrue(new EntriesModel(codec, new StringReader("{\"entries\":[]}")).objectList.isEmpty());
+            Assertions.assertTrue(new EntriesModel(codec, new StringReader("{\"entries\":null}")).objectList.isEmpty());
+            Assertions.assertTrue(new EntriesModel(codec, new StringReader("{}")).objectList.isEmpty());
+        }
+    }
+
+    @Test
+    void testLazyJSONCodecMatchesJSONObject() throws IOException {
+        JSONObject decoded = new LazyJSONCodec().decode(new StringReader(RESPONSE), "entries", entry -> {
+        });
+        Assertions.assertTrue(new JSONObject(RESPONSE).similar(decoded));
+        Assertions.assertEquals(new JSONObject(RESPONSE).toString(), decoded.toString());
+    }
+
+    @Test
+    void testLazyEntryDecodesFieldsOnAccess() throws IOException {
+        EntriesModel model = new EntriesModel(new LazyJSONCodec(), new StringReader(RESPONSE));
+        EntryModel first = (EntryModel) model.objectList.get(0);
+        Assertions.assertEquals("blt1", first.uid);
+        JSONObject entry = first.jsonObject;
+        Assertions.assertTrue(entry instanceof LazyJSONObject);
+        Assertions.assertEquals(7, entry.length());
+        Assertions.assertTrue(entry.has("tags"));
+        Assertions.assertSame(entry.get("ref"), entry.get("ref"));
+        Assertions.assertEquals("]}", entry.getJSONArray("ref").getJSONObject(0).getString("x"));
+        Assertions.assertEquals(12.5, entry.getDouble("price"));
+        Assertions.assertTrue(entry.isNull("none"));
+        entry.put("title", "Changed");
+        Assertions.assertEquals("Changed", entry.getString("title"));
+        Assertions.assertEquals(7, entry.keySet().size());
+        Assertions.assertEquals(12345678901234L, ((EntryModel) model.objectList.get(1)).jsonObject.getLong("big"));
+    }
+}
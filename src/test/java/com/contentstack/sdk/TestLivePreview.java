@@ -154,4 +154,25 @@ public class TestLivePreview {
         entry.find(null);
         Assertions.assertNotNull(entry);
     }
+
+    @Test()
+    void testLivePreviewLeavesSharedStateUntouched() throws Exception {
+        Config livePreviewConfig = new Config().enableLivePreview(true)
+                .setLivePreviewHost("live-preview.contentstack.io").setManagementToken("management_token_123456");
+        Stack stack = Contentstack.stack("liveAPIKey", "liveAccessToken", "liveEnv", livePreviewConfig);
+        HashMap<String, String> hashMap = new HashMap<>();
+        hashMap.put("content_type_uid", "content_type_uid");
+        stack.livePreviewQuery(hashMap);
+        Query query = stack.contentType("content_type_uid").query();
+        query.find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                logger.info("No result expected");
+            }
+        });
+        Assertions.assertTrue(query.headers.containsKey("access_token"));
+        Assertions.assertFalse(query.headers.containsKey("live_preview"));
+        Assertions.assertFalse(stack.headers.containsKey("authorization"));
+        Assertions.assertNull(livePreviewConfig.livePreviewHash);
+    }
 }
@@ -0,0 +1,156 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestLocalReplica {
+
+    private static final String ENTRIES = "https://cdn.contentstack.io/v3/content_types/blog/entries";
+
+    private LocalReplica replica;
+
+    private static SyncStack page(String fixture) throws IOException {
+        try (InputStream stream = TestLocalReplica.class.getResourceAsStream("/sync/" + fixture)) {
+            SyncStack syncStack = new SyncStack();
+            syncStack.setJSON(new JSONObject(new JSONTokener(stream)));
+            return syncStack;
+        }
+    }
+
+    private static Map<String, Object> params(Object... keysAndValues) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            params.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return params;
+    }
+
+    private JSONArray find(Map<String, Object> params) {
+        return replica.answer(Constants.QUERYOBJECT, ENTRIES, params, new HashMap<>()).getJSONArray("entries");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        replica = new LocalReplica();
+        Assertions.assertNull(replica.answer(Constants.QUERYOBJECT, ENTRIES, null, new HashMap<>()));
+        replica.apply(page("initial.json"));
+    }
+
+    @Test
+    void testInitialSync() {
+        Assertions.assertTrue(replica.isReady());
+        Assertions.assertEquals("initial-token", replica.getSyncToken());
+        Assertions.assertEquals(4, replica.entryCount());
+        JSONArray entries = find(params());
+        Assertions.assertEquals(2, entries.length());
+        Assertions.assertEquals("Second", entries.getJSONObject(0).getString("title"));
+        Assertions.assertEquals("Premier", find(params("locale", "fr-fr")).getJSONObject(0).getString("title"));
+    }
+
+    @Test
+    void testOrderSkipLimitAndCount() {
+        JSONArray entries = find(params("asc", "updated_at", "limit", 1));
+        Assertions.assertEquals(1, entries.length());
+        Assertions.assertEquals("First", entries.getJSONObject(0).getString("title"));
+        Assertions.assertEquals("First", find(params("desc", "rank")).getJSONObject(0).getString("title"));
+        Assertions.assertEquals(0, find(params("skip", 2)).length());
+        JSONObject response = replica.answer(Constants.QUERYOBJECT, ENTRIES, params("include_count", true),
+                new HashMap<>());
+        Assertions.assertEquals(2, response.getInt("count"));
+    }
+
+    @Test
+    void testFetch() {
+        JSONObject entry = replica.answer(Constants.FETCHENTRY, ENTRIES + "/blt01", null, new HashMap<>());
+        Assertions.assertEquals("First", entry.getJSONObject("entry").getString("title"));
+        entry.getJSONObject("entry").put("title", "Changed");
+        Assertions.assertEquals("First", find(params("asc", "rank", "skip", 1)).getJSONObject(0).getString("title"));
+        JSONObject asset = replica.answer(Constants.FETCHASSETS, "https://cdn.contentstack.io/v3/assets/blt04", null,
+                new HashMap<>());
+        Assertions.assertEquals("cover.png", asset.getJSONObject("asset").getString("filename"));
+        Assertions.assertNull(replica.answer(Constants.FETCHENTRY, ENTRIES + "/missing", null, new HashMap<>()));
+    }
+
+    @Test
+    void testUnsupportedRequestsMiss() {
+        Assertions.assertNull(replica.answer(Constants.QUERYOBJECT, ENTRIES,
+                params("include[]", new JSONArray().put("author")), new HashMap<>()));
+        Assertions.assertNull(replica.answer(Constants.QUERYOBJECT, ENTRIES,
+                params("query", new JSONObject().put("author", new JSONObject().put("$in_query",
+                        new JSONObject().put("title", "Jane")))), new HashMap<>()));
+        Assertions.assertEquals(2, replica.missCount());
+    }
+
+    @Test
+    void testConditionsAndProjection() {
+        JSONArray entries = find(params("query", new JSONObject().put("rank", new JSONObject().put("$gt", 1)),
+                "only[BASE][]", new JSONArray().put("title")));
+        Assertions.assertEquals(1, entries.length());
+        Assertions.assertTrue(new JSONObject().put("uid", "blt01").put("title", "First")
+                .similar(entries.getJSONObject(0)));
+        entries = find(params("query", new JSONObject().put("title", new JSONObject().put("$regex", "^s")
+                .put("$options", "i")), "except[BASE][]", new JSONArray().put("rank")));
+        Assertions.assertEquals(1, entries.length());
+        Assertions.assertFalse(entries.getJSONObject(0).has("rank"));
+        Assertions.assertEquals("Second", entries.getJSONObject(0).getString("title"));
+    }
+
+    @Test
+    void testDeltaSync() throws IOException {
+        replica.apply(page("delta.json"));
+        Assertions.assertEquals("delta-token", replica.getSyncToken());
+        Assertions.assertEquals(0, find(params()).length());
+        Assertions.assertEquals(0, find(params("locale", "fr-fr")).length());
+        Assertions.assertEquals(0, replica.entryCount());
+        Assertions.assertNull(replica.answer(Constants.FETCHASSETS, "https://cdn.contentstack.io/v3/assets/blt04",
+                null, new HashMap<>()));
+    }
+
+    @Test
+    void testUnpublishWithPublishDetailsKeepsOtherLocales() {
+        replica.apply(new JSONObject().put("type", "entry_unpublished").put("content_type_uid", "blog")
+                .put("data", new JSONObject().put("uid", "blt01")
+                        .put("publish_details", new JSONObject().put("locale", "fr-fr"))));
+        Assertions.assertEquals(0, find(params("locale", "fr-fr")).length());
+        Assertions.assertEquals(2, find(params()).length());
+    }
+
+    @Test
+    void testSyncAgainAfterASyncCompletedInline() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        try (StubServer server = new StubServer(exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                StubServer.respond(exchange, 503, "");
+            } else {
+                StubServer.respond(exchange, 200, "{\"items\":[{\"type\":\"entry_published\","
+                        + "\"content_type_uid\":\"blog\",\"data\":{\"uid\":\"a\",\"_version\":1}}],"
+                        + "\"sync_token\":\"token\"}");
+            }
+        })) {
+            LocalReplica synced = new LocalReplica();
+            Stack stack = server.stack(new Config().setExecutor(Runnable::run).setCallbackExecutor(Runnable::run));
+            CompletableFuture<String> failed = synced.sync(stack);
+            Assertions.assertTrue(failed.isCompletedExceptionally());
+            // the failed sync is over, the next one is sent
+            CompletableFuture<String> retried = synced.sync(stack);
+            Assertions.assertNotSame(failed, retried);
+            Assertions.assertEquals("token", retried.get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(synced.isReady());
+            Assertions.assertEquals(1, synced.entryCount());
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+}
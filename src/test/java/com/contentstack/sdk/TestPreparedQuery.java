@@ -0,0 +1,59 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class TestPreparedQuery {
+
+    private static final String PATH = "content_types/blog/entries";
+
+    @Test
+    void testTemplateExpandsLikeBoundParams() {
+        Map<String, Object> template = new LinkedHashMap<>();
+        template.put("query", new JSONObject().put("url", PreparedQuery.param("url", String.class))
+                .put("n", new JSONObject().put("$lt", PreparedQuery.param("max", Integer.class))));
+        template.put("locale", PreparedQuery.param("locale", String.class));
+        template.put("environment", "production");
+        Map<String, Object> bound = new LinkedHashMap<>();
+        bound.put("query", new JSONObject().put("url", "/caf\u00e9 & bar").put("n", new JSONObject().put("$lt", 9)));
+        bound.put("locale", "fr-fr");
+        bound.put("environment", "production");
+        Map<String, Object> values = new HashMap<>();
+        values.put("url", "/caf\u00e9 & bar");
+        values.put("max", 9);
+        values.put("locale", "fr-fr");
+        Assertions.assertEquals(URLBuilder.build(PATH, bound), URLBuilder.compile(PATH, template).expand(values));
+    }
+
+    @Test
+    void testUnboundParameterFails() {
+        Map<String, Object> template = new HashMap<>();
+        template.put("locale", PreparedQuery.param("locale", String.class));
+        URLBuilder.Template compiled = URLBuilder.compile(PATH, template);
+        Assertions.assertEquals(1, compiled.parameters().size());
+        Assertions.assertThrows(IllegalStateException.class, () -> compiled.expand(new HashMap<>()));
+    }
+
+    @Test
+    void testParameterOnlyInPreparedQuery() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("locale", PreparedQuery.param("locale", String.class));
+        Assertions.assertThrows(IllegalStateException.class, () -> URLBuilder.build(PATH, params));
+    }
+
+    @Test
+    void testBindChecksNameAndType() throws IllegalAccessException {
+        Stack stack = Contentstack.stack("apiKey", "deliveryToken", "env");
+        PreparedQuery prepared = stack.contentType("blog").query()
+                .where("url", PreparedQuery.param("url", String.class)).prepare();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> prepared.bind("url", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> prepared.bind("title", "Hello"));
+        Assertions.assertNotSame(prepared, prepared.bind("url", "/about"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PreparedQuery.param("n", int.class));
+    }
+}
@@ -0,0 +1,108 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestQueryFanOut {
+
+    private final List<String> pages = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    // a server with entries e0 to e(count - 1) answering after 30 milliseconds, counting them on include_count
+    private StubServer server(int count) throws Exception {
+        return new StubServer(exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                int skip = Integer.parseInt(StubServer.param(exchange, "skip"));
+                int limit = Integer.parseInt(StubServer.param(exchange, "limit"));
+                boolean includeCount = "true".equals(StubServer.param(exchange, "include_count"));
+                pages.add(skip + "+" + limit + (includeCount ? " counted" : ""));
+                StubServer.sleep(30);
+                StringBuilder entries = new StringBuilder();
+                for (int i = skip; i < Math.min(count, skip + limit); i++) {
+                    entries.append(entries.length() > 0 ? "," : "")
+                            .append("{\"uid\":\"e").append(i).append("\",\"_version\":1}");
+                }
+                StubServer.respond(exchange, 200,
+                        "{\"entries\":[" + entries + "]" + (includeCount ? ",\"count\":" + count : "") + "}");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private static List<String> expectedUids(int count) {
+        List<String> uids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            uids.add("e" + i);
+        }
+        return uids;
+    }
+
+    private static List<String> uids(QueryResult result) {
+        List<String> uids = new ArrayList<>();
+        for (Entry entry : result.getResultObjects()) {
+            uids.add(entry.getUid());
+        }
+        return uids;
+    }
+
+    @Test
+    void testPagesAreMergedInOrder() throws Exception {
+        try (StubServer server = server(250)) {
+            Stack stack = server.stack(new Config());
+            QueryResult all = stack.contentType("product").query().findAllAsync(2).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(expectedUids(250), uids(all));
+            Assertions.assertEquals(250, all.getCount());
+            // the first page is counted, the count tells the offsets of the other ones
+            Assertions.assertEquals("0+100 counted", pages.get(0));
+            Assertions.assertEquals(new HashSet<>(Arrays.asList("0+100 counted", "100+100", "200+50")),
+                    new HashSet<>(pages));
+            stack.close();
+        }
+    }
+
+    @Test
+    void testAtMostParallelismRequestsInFlight() throws Exception {
+        try (StubServer server = server(95)) {
+            Stack stack = server.stack(new Config());
+            Query query = stack.contentType("product").query();
+            QueryResult all = new QueryFanOut(query, 3, 10).collect().get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(expectedUids(95), uids(all));
+            Assertions.assertEquals(10, server.requestCount());
+            Assertions.assertTrue(pages.contains("90+5"), pages.toString());
+            Assertions.assertTrue(maxInFlight.get() <= 3, "in flight: " + maxInFlight.get());
+            Assertions.assertTrue(maxInFlight.get() > 1, "the pages were requested one by one");
+            stack.close();
+        }
+    }
+
+    @Test
+    void testConsumerGetsEveryPageOnce() throws Exception {
+        try (StubServer server = server(95)) {
+            Stack stack = server.stack(new Config());
+            Query query = stack.contentType("product").query();
+            List<String> firstUids = new ArrayList<>();
+            Set<String> consumed = new HashSet<>();
+            new QueryFanOut(query, 4, 10).forEachPage(page -> {
+                firstUids.add(page.getResultObjects().get(0).getUid());
+                consumed.addAll(uids(page));
+            }).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(10, firstUids.size());
+            Assertions.assertEquals(10, new HashSet<>(firstUids).size());
+            Assertions.assertEquals(new HashSet<>(expectedUids(95)), consumed);
+            Assertions.assertTrue(maxInFlight.get() <= 4, "in flight: " + maxInFlight.get());
+            stack.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+class TestQueryFilter {
+
+    private static final List<JSONObject> ENTRIES = Arrays.asList(
+            new JSONObject("{\"uid\":\"a\",\"title\":\"Java streams\",\"rank\":3,\"price\":9.5,"
+                    + "\"tags\":[\"java\",\"jvm\"],\"author\":{\"name\":\"Ann\"},\"draft\":false}"),
+            new JSONObject("{\"uid\":\"b\",\"title\":\"Kotlin flows\",\"rank\":10,\"price\":12,"
+                    + "\"tags\":[\"kotlin\",\"jvm\"],\"author\":[{\"name\":\"Bob\"},{\"name\":\"Cy\"}],\"note\":null}"),
+            new JSONObject("{\"uid\":\"c\",\"title\":\"java regex\",\"rank\":\"7\",\"tags\":[],"
+                    + "\"author\":{\"name\":\"Cy\"}}"));
+
+    private static List<String> uids(JSONObject query) {
+        Predicate<JSONObject> filter = QueryFilter.compile(query);
+        List<String> uids = new ArrayList<>();
+        for (JSONObject entry : ENTRIES) {
+            if (filter.test(entry)) {
+                uids.add(entry.getString("uid"));
+            }
+        }
+        return uids;
+    }
+
+    private static List<String> uids(String query) {
+        return uids(new JSONObject(query));
+    }
+
+    @Test
+    void testEquality() {
+        Assertions.assertEquals(Arrays.asList("a"), uids("{\"title\":\"Java streams\"}"));
+        Assertions.assertEquals(Arrays.asList("a", "b"), uids("{\"tags\":\"jvm\"}"));
+        Assertions.assertEquals(Arrays.asList("b", "c"), uids("{\"author.name\":\"Cy\"}"));
+        Assertions.assertEquals(Arrays.asList("b"), uids("{\"price\":12.0}"));
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), uids("{}"));
+    }
+
+    @Test
+    void testNullAndExists() {
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), uids("{\"note\":null}"));
+        Assertions.assertEquals(Arrays.asList("b"), uids("{\"note\":{\"$exists\":true}}"));
+        Assertions.assertEquals(Arrays.asList("b", "c"), uids("{\"draft\":{\"$exists\":false}}"));
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), uids("{\"tags\":{\"$exists\":true}}"));
+    }
+
+    @Test
+    void testComparisonsDontCrossTypes() {
+        Assertions.assertEquals(Arrays.asList("b"), uids("{\"rank\":{\"$gt\":5}}"));
+        Assertions.assertEquals(Arrays.asList("c"), uids("{\"rank\":{\"$gt\":\"5\"}}"));
+        Assertions.assertEquals(Arrays.asList("a", "b"), uids("{\"rank\":{\"$gte\":3,\"$lte\":10}}"));
+        Assertions.assertEquals(Arrays.asList("a"), uids("{\"price\":{\"$lt\":10}}"));
+        Assertions.assertEquals(Arrays.asList("b"), uids("{\"title\":{\"$gte\":\"K\",\"$lt\":\"a\"}}"));
+    }
+
+    @Test
+    void testNegationsMatchMissingFields() {
+        Assertions.assertEquals(Arrays.asList("b", "c"), uids("{\"price\":{\"$ne\":9.5}}"));
+        Assertions.assertEquals(Arrays.asList("c"), uids("{\"tags\":{\"$nin\":[\"jvm\"]}}"));
+        Assertions.assertEquals(Arrays.asList("a", "b"), uids("{\"tags\":{\"$in\":[\"java\",\"kotlin\"]}}"));
+    }
+
+    @Test
+    void testRegexAndLogic() {
+        Assertions.assertEquals(Arrays.asList("c"), uids("{\"title\":{\"$regex\":\"^java\"}}"));
+        Assertions.assertEquals(Arrays.asList("a", "c"), uids("{\"title\":{\"$regex\":\"^java\",\"$options\":\"i\"}}"));
+        Assertions.assertEquals(Arrays.asList("a", "c"),
+                uids(new JSONObject().put("$or", new JSONArray().put(new JSONObject().put("rank", 3))
+                        .put(new JSONObject().put("rank", "7")))));
+        Assertions.assertEquals(Arrays.asList("b"),
+                uids(new JSONObject().put("$and", new JSONArray().put(new JSONObject().put("tags", "jvm"))
+                        .put(new JSONObject().put("rank", new JSONObject().put("$gt", 3))))));
+    }
+
+    @Test
+    void testUnsupportedConditions() {
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> QueryFilter.compile(new JSONObject("{\"author\":{\"$in_query\":{\"name\":\"Ann\"}}}")));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> QueryFilter.compile(new JSONObject("{\"title\":{\"$regex\":\"(\"}}")));
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> QueryFilter.compile(new JSONObject("{\"$where\":\"true\"}")));
+    }
+
+    @Test
+    void testOrderAndProjection() {
+        List<JSONObject> sorted = new ArrayList<>(ENTRIES);
+        sorted.sort(QueryFilter.order("rank", true));
+        Assertions.assertEquals("a", sorted.get(0).getString("uid"));
+        Assertions.assertEquals("c", sorted.get(2).getString("uid"));
+        sorted.sort(QueryFilter.order("price", false));
+        Assertions.assertEquals("b", sorted.get(0).getString("uid"));
+        Assertions.assertEquals("c", sorted.get(2).getString("uid"));
+        JSONObject only = QueryFilter.only(ENTRIES.get(1), new JSONArray().put("title").put("author.name"));
+        Assertions.assertTrue(new JSONObject("{\"uid\":\"b\",\"title\":\"Kotlin flows\","
+                + "\"author\":[{\"name\":\"Bob\"},{\"name\":\"Cy\"}]}").similar(only));
+        JSONObject except = QueryFilter.except(ENTRIES.get(0), new JSONArray().put("tags").put("author.name"));
+        Assertions.assertFalse(except.has("tags"));
+        Assertions.assertEquals(0, except.getJSONObject("author").length());
+        Assertions.assertEquals("Ann", ENTRIES.get(0).getJSONObject("author").getString("name"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class TestQueryIterator {
+
+    // a server with entries e0 to e(count - 1), recording the skip and limit of every request
+    private static StubServer server(int count, List<String> pages) throws Exception {
+        return new StubServer(exchange -> {
+            int skip = Integer.parseInt(StubServer.param(exchange, "skip"));
+            int limit = Integer.parseInt(StubServer.param(exchange, "limit"));
+            pages.add(skip + "+" + limit);
+            StringBuilder entries = new StringBuilder();
+            for (int i = skip; i < Math.min(count, skip + limit); i++) {
+                entries.append(entries.length() > 0 ? "," : "")
+                        .append("{\"uid\":\"e").append(i).append("\",\"_version\":1}");
+            }
+            StubServer.respond(exchange, 200, "{\"entries\":[" + entries + "]}");
+        });
+    }
+
+    private static List<String> uids(Iterator<Entry> entries) {
+        List<String> uids = new ArrayList<>();
+        entries.forEachRemaining(entry -> uids.add(entry.getUid()));
+        return uids;
+    }
+
+    @Test
+    void testIterationStopsOnTheLastShortPage() throws Exception {
+        List<String> pages = Collections.synchronizedList(new ArrayList<>());
+        try (StubServer server = server(5, pages)) {
+            Stack stack = server.stack(new Config());
+            List<String> uids = uids(stack.contentType("product").query().iterate(2));
+            Assertions.assertEquals(Arrays.asList("e0", "e1", "e2", "e3", "e4"), uids);
+            Assertions.assertEquals(Arrays.asList("0+2", "2+2", "4+2"), pages);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testFullLastPageIsFollowedByAnEmptyOne() throws Exception {
+        List<String> pages = Collections.synchronizedList(new ArrayList<>());
+        try (StubServer server = server(4, pages)) {
+            Stack stack = server.stack(new Config());
+            List<String> uids = stack.contentType("product").query().stream(2).map(Entry::getUid)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(Arrays.asList("e0", "e1", "e2", "e3"), uids);
+            Assertions.assertEquals(Arrays.asList("0+2", "2+2", "4+2"), pages);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testSkipAndLimitOfTheQueryAreRespected() throws Exception {
+        List<String> pages = Collections.synchronizedList(new ArrayList<>());
+        try (StubServer server = server(10, pages)) {
+            Stack stack = server.stack(new Config());
+            Query query = stack.contentType("product").query().skip(1).limit(3);
+            Assertions.assertEquals(Arrays.asList("e1", "e2", "e3"), uids(query.iterate(2)));
+            Assertions.assertEquals(Arrays.asList("1+2", "3+1"), pages);
+            // the query keeps its own skip and limit
+            Assertions.assertEquals(1, query.urlQueries.opt("skip"));
+            Assertions.assertEquals(3, query.urlQueries.opt("limit"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> query.iterate(101));
+            stack.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TestRateLimiter {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testBurstThenRate() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        long now = System.nanoTime();
+        Assertions.assertEquals(0, limiter.reserve(now));
+        Assertions.assertEquals(0, limiter.reserve(now));
+        Assertions.assertEquals(100 * MILLIS, limiter.reserve(now));
+        Assertions.assertEquals(200 * MILLIS, limiter.reserve(now));
+        Assertions.assertEquals(4, limiter.acquiredCount());
+        Assertions.assertEquals(2, limiter.queueLength());
+        Assertions.assertEquals(200, limiter.longestWaitTime(TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(75, limiter.averageWaitTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testRefillsUpToTheBurst() {
+        RateLimiter limiter = new RateLimiter(10, 2);
+        long now = System.nanoTime();
+        limiter.reserve(now);
+        limiter.reserve(now);
+        now += TimeUnit.SECONDS.toNanos(5);
+        Assertions.assertEquals(0, limiter.reserve(now));
+        Assertions.assertEquals(0, limiter.reserve(now));
+        Assertions.assertEquals(100 * MILLIS, limiter.reserve(now));
+    }
+
+    @Test
+    void testRejectsRequestsWaitingTooLong() {
+        RateLimiter limiter = new RateLimiter(10, 1).setMaxWait(150, TimeUnit.MILLISECONDS);
+        long now = System.nanoTime();
+        Assertions.assertEquals(0, limiter.reserve(now));
+        Assertions.assertEquals(100 * MILLIS, limiter.reserve(now));
+        Assertions.assertEquals(-1, limiter.reserve(now));
+        Assertions.assertEquals(1, limiter.rejectedCount());
+        // the rejected request did not take a permit
+        Assertions.assertEquals(100 * MILLIS, limiter.reserve(now + 100 * MILLIS));
+    }
+
+    @Test
+    void testTryAcquireIsNotARejection() {
+        RateLimiter limiter = new RateLimiter(10, 1);
+        Assertions.assertTrue(limiter.tryAcquire());
+        // no permit left, the caller does without
+        Assertions.assertFalse(limiter.tryAcquire());
+        Assertions.assertEquals(1, limiter.acquiredCount());
+        Assertions.assertEquals(0, limiter.rejectedCount());
+    }
+}
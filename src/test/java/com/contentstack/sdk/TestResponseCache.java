@@ -0,0 +1,225 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TestResponseCache {
+
+    private static final byte[] BODY = new byte[100];
+    private static final String ENTRIES = "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}";
+
+    // finds the entries of the query and returns where they came from
+    private static ResponseType find(Query query) throws Exception {
+        CompletableFuture<ResponseType> future = new CompletableFuture<>();
+        query.find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                if (error != null) {
+                    future.completeExceptionally(new ContentstackException(error));
+                } else {
+                    future.complete(responseType);
+                }
+            }
+        });
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        // every entry weighs its 100 bytes, the key and the entry overhead
+        ResponseCache cache = new ResponseCache(500, 1, TimeUnit.MINUTES);
+        cache.put("a", null, BODY, null, null);
+        cache.put("b", null, BODY, null, null);
+        cache.put("c", null, BODY, null, null);
+        Assertions.assertNotNull(cache.lookup("a"));
+        cache.put("d", null, BODY, null, null);
+        Assertions.assertNull(cache.lookup("b"));
+        Assertions.assertNotNull(cache.lookup("a"));
+        Assertions.assertNotNull(cache.lookup("c"));
+        Assertions.assertNotNull(cache.lookup("d"));
+        Assertions.assertTrue(cache.size() <= 500);
+    }
+
+    @Test
+    void testSkipsResponsesLargerThanTheCache() {
+        ResponseCache cache = new ResponseCache(50, 1, TimeUnit.MINUTES);
+        cache.put("a", null, BODY, null, null);
+        Assertions.assertNull(cache.lookup("a"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testContentTypeTTL() {
+        ResponseCache cache = new ResponseCache(1000, 1, TimeUnit.MINUTES)
+                .setTTL("product", 0, TimeUnit.SECONDS);
+        cache.put("a", "product", BODY, null, null);
+        cache.put("b", "blog", BODY, null, null);
+        Assertions.assertNull(cache.lookup("a"));
+        Assertions.assertNotNull(cache.lookup("b"));
+        Assertions.assertEquals(1, cache.hitCount());
+        Assertions.assertEquals(1, cache.missCount());
+        cache.invalidateAll();
+        Assertions.assertNull(cache.lookup("b"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testKeepsExpiredResponsesWithValidators() {
+        ResponseCache cache = new ResponseCache(1000, 1, TimeUnit.MINUTES)
+                .setTTL("nav", -1, TimeUnit.SECONDS)
+                .setTTL("footer", 1, TimeUnit.NANOSECONDS);
+        cache.put("a", "footer", BODY, "\"v1\"", null);
+        cache.put("b", "footer", BODY, null, null);
+        cache.put("c", "nav", BODY, "\"v1\"", null);
+        ResponseCache.CachedResponse stale = cache.lookup("a");
+        Assertions.assertNotNull(stale);
+        Assertions.assertFalse(stale.isFresh());
+        Assertions.assertEquals("\"v1\"", stale.etag);
+        Assertions.assertNull(cache.lookup("b"));
+        Assertions.assertNull(cache.lookup("c"));
+
+        cache.setTTL("footer", 1, TimeUnit.MINUTES);
+        cache.revalidated("a", "footer", stale);
+        Assertions.assertTrue(cache.lookup("a").isFresh());
+        Assertions.assertEquals(1, cache.revalidationCount());
+        Assertions.assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    void testIdenticalFindIsAnsweredFromTheCache() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES);
+        try (StubServer server = StubServer.json(ENTRIES)) {
+            Stack stack = server.stack(new Config().setResponseCache(cache));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query().where("a", "b")));
+            Assertions.assertEquals(ResponseType.CACHE, find(stack.contentType("blog").query().where("a", "b")));
+            Assertions.assertEquals(1, server.requestCount());
+            Assertions.assertEquals(1, cache.hitCount());
+            // another query is another key
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query().where("a", "c")));
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testEnvironmentAndBranchArePartOfTheKey() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES);
+        try (StubServer server = StubServer.json(ENTRIES)) {
+            Stack stack = server.stack(new Config().setResponseCache(cache));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Query staging = stack.contentType("blog").query();
+            staging.setHeader("environment", "staging");
+            Assertions.assertEquals(ResponseType.NETWORK, find(staging));
+            Query branch = stack.contentType("blog").query();
+            branch.setHeader("branch", "development");
+            Assertions.assertEquals(ResponseType.NETWORK, find(branch));
+            Assertions.assertEquals(3, server.requestCount());
+            Query sameBranch = stack.contentType("blog").query();
+            sameBranch.setHeader("branch", "development");
+            Assertions.assertEquals(ResponseType.CACHE, find(sameBranch));
+            Assertions.assertEquals(3, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testSyncIsNeverCached() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES);
+        try (StubServer server = StubServer.json("{\"items\":[],\"sync_token\":\"token\"}")) {
+            Stack stack = server.stack(new Config().setResponseCache(cache));
+            Assertions.assertEquals("token", stack.syncAsync().get(5, TimeUnit.SECONDS).getSyncToken());
+            Assertions.assertEquals("token", stack.syncAsync().get(5, TimeUnit.SECONDS).getSyncToken());
+            Assertions.assertEquals(2, server.requestCount());
+            Assertions.assertEquals(0, cache.size());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testLivePreviewIsNeverCached() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES);
+        Map<String, String> previewedHeaders = Collections.synchronizedMap(new HashMap<>());
+        try (StubServer server = new StubServer(exchange -> {
+            previewedHeaders.put("live_preview", exchange.getRequestHeaders().getFirst("live_preview"));
+            StubServer.respond(exchange, 200, ENTRIES);
+        })) {
+            Config config = new Config().setResponseCache(cache).enableLivePreview(true)
+                    .setLivePreviewHost(server.host())
+                    .setManagementToken("managementToken");
+            Stack stack = server.stack(config);
+            Map<String, String> preview = new HashMap<>();
+            preview.put("content_type_uid", "blog");
+            preview.put("live_preview", "hash");
+            stack.livePreviewQuery(preview);
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Assertions.assertEquals(2, server.requestCount());
+            Assertions.assertEquals("hash", previewedHeaders.get("live_preview"));
+            Assertions.assertEquals(0, cache.size());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testExpiredResponseIsRevalidatedWithItsETag() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES).setTTL("blog", 1, TimeUnit.NANOSECONDS);
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        try (StubServer server = new StubServer(exchange -> {
+            ifNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            if ("\"v1\"".equals(ifNoneMatch.get())) {
+                StubServer.respond(exchange, 304, "");
+            } else {
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                StubServer.respond(exchange, 200, ENTRIES);
+            }
+        })) {
+            Stack stack = server.stack(new Config().setResponseCache(cache));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Assertions.assertNull(ifNoneMatch.get());
+            // expired at once, kept for its ETag; once revalidated it is fresh for a minute
+            cache.setTTL("blog", 1, TimeUnit.MINUTES);
+            AtomicReference<QueryResult> revalidated = new AtomicReference<>();
+            CompletableFuture<ResponseType> responseType = new CompletableFuture<>();
+            stack.contentType("blog").query().find(new QueryResultsCallBack() {
+                @Override
+                public void onCompletion(ResponseType type, QueryResult queryresult, Error error) {
+                    revalidated.set(queryresult);
+                    responseType.complete(type);
+                }
+            });
+            Assertions.assertEquals(ResponseType.CACHE, responseType.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("A", revalidated.get().getResultObjects().get(0).getTitle());
+            Assertions.assertEquals("\"v1\"", ifNoneMatch.get());
+            Assertions.assertEquals(2, server.requestCount());
+            Assertions.assertEquals(1, cache.revalidationCount());
+            Assertions.assertEquals(ResponseType.CACHE, find(stack.contentType("blog").query()));
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testChangedResponseReplacesTheExpiredOne() throws Exception {
+        ResponseCache cache = new ResponseCache(10000, 1, TimeUnit.MINUTES).setTTL("blog", 1, TimeUnit.NANOSECONDS);
+        AtomicReference<String> ifModifiedSince = new AtomicReference<>();
+        try (StubServer server = new StubServer(exchange -> {
+            ifModifiedSince.set(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+            exchange.getResponseHeaders().add("Last-Modified", "Tue, 01 Oct 2024 10:00:00 GMT");
+            StubServer.respond(exchange, 200, ENTRIES);
+        })) {
+            Stack stack = server.stack(new Config().setResponseCache(cache));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Assertions.assertEquals(ResponseType.NETWORK, find(stack.contentType("blog").query()));
+            Assertions.assertEquals("Tue, 01 Oct 2024 10:00:00 GMT", ifModifiedSince.get());
+            Assertions.assertEquals(0, cache.revalidationCount());
+            stack.close();
+        }
+    }
+}
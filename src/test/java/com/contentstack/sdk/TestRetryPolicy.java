@@ -0,0 +1,139 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestRetryPolicy {
+
+    private static final String ENTRIES = "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}";
+
+    private final AtomicInteger callbacks = new AtomicInteger();
+
+    private static RetryPolicy retryPolicy() {
+        return new RetryPolicy().setMaxAttempts(3).setBackoff(10, 2000, TimeUnit.MILLISECONDS);
+    }
+
+    // finds the entries, the future completes with the error of the callback, null on success
+    private CompletableFuture<Error> find(Stack stack) {
+        CompletableFuture<Error> done = new CompletableFuture<>();
+        stack.contentType("blog").query().find(new QueryResultsCallBack() {
+            @Override
+            public void onCompletion(ResponseType responseType, QueryResult queryresult, Error error) {
+                callbacks.incrementAndGet();
+                done.complete(error);
+            }
+        });
+        return done;
+    }
+
+    // the callback is completed once and only once
+    private void assertSingleCallback() {
+        StubServer.sleep(100);
+        Assertions.assertEquals(1, callbacks.get());
+    }
+
+    @Test
+    void testAttemptsAndStatusCodes() {
+        RetryPolicy policy = new RetryPolicy().setMaxAttempts(2);
+        Assertions.assertTrue(policy.canRetry(1));
+        Assertions.assertFalse(policy.canRetry(2));
+        Assertions.assertTrue(policy.isRetryable(429));
+        Assertions.assertTrue(policy.isRetryable(503));
+        Assertions.assertFalse(policy.isRetryable(404));
+        Assertions.assertFalse(policy.setRetryableStatusCodes(500).isRetryable(429));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> policy.setMaxAttempts(0));
+    }
+
+    @Test
+    void testBackoffIsJitteredAndCapped() {
+        RetryPolicy policy = new RetryPolicy().setBackoff(100, 1000, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(policy.delay(1, null) <= TimeUnit.MILLISECONDS.toNanos(100));
+            Assertions.assertTrue(policy.delay(3, null) <= TimeUnit.MILLISECONDS.toNanos(400));
+            long delay = policy.delay(80, null);
+            Assertions.assertTrue(delay >= 0 && delay <= TimeUnit.MILLISECONDS.toNanos(1000));
+        }
+    }
+
+    @Test
+    void testRetryAfter() {
+        RetryPolicy policy = new RetryPolicy().setBackoff(100, 5000, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(2), policy.delay(1, "2"));
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(5), policy.delay(1, "120"));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(3));
+        long delay = policy.delay(1, date);
+        Assertions.assertTrue(delay > TimeUnit.SECONDS.toNanos(1) && delay <= TimeUnit.SECONDS.toNanos(3));
+        Assertions.assertTrue(policy.delay(1, "soon") <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testUnavailableThenAvailable() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        try (StubServer server = new StubServer(exchange -> {
+            boolean first = calls.incrementAndGet() == 1;
+            StubServer.respond(exchange, first ? 503 : 200, first ? "" : ENTRIES);
+        })) {
+            Stack stack = server.stack(new Config().setRetryPolicy(retryPolicy()));
+            Assertions.assertNull(find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, server.requestCount());
+            assertSingleCallback();
+            stack.close();
+        }
+    }
+
+    @Test
+    void testRetryAfterIsHonored() throws Exception {
+        List<Long> arrivals = Collections.synchronizedList(new ArrayList<>());
+        try (StubServer server = new StubServer(exchange -> {
+            arrivals.add(System.nanoTime());
+            if (arrivals.size() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                StubServer.respond(exchange, 429, "");
+            } else {
+                StubServer.respond(exchange, 200, ENTRIES);
+            }
+        })) {
+            Stack stack = server.stack(new Config().setRetryPolicy(retryPolicy()));
+            Assertions.assertNull(find(stack).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, arrivals.size());
+            long waited = arrivals.get(1) - arrivals.get(0);
+            Assertions.assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(950), "waited " + waited);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testExhaustedAttemptsDeliverTheLastError() throws Exception {
+        try (StubServer server = new StubServer(exchange -> StubServer.respond(exchange, 503, ""))) {
+            Stack stack = server.stack(new Config().setRetryPolicy(retryPolicy()));
+            Error error = find(stack).get(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(error);
+            Assertions.assertEquals(503, error.getErrorCode());
+            Assertions.assertEquals(3, server.requestCount());
+            assertSingleCallback();
+            stack.close();
+        }
+    }
+
+    @Test
+    void testRefusedConnectionCompletesTheCallback() throws Exception {
+        StubServer server = StubServer.json(ENTRIES);
+        Stack stack = server.stack(new Config().setRetryPolicy(retryPolicy()));
+        server.close();
+        Error error = find(stack).get(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(error);
+        Assertions.assertEquals(0, server.requestCount());
+        assertSingleCallback();
+        stack.close();
+    }
+}
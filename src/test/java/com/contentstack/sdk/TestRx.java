@@ -0,0 +1,95 @@
+package com.contentstack.sdk;
+
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class TestRx {
+
+    private static final int PAGES = 3;
+
+    // a sync of three pages of two items, a failing entry and a query
+    private static StubServer server() throws Exception {
+        return new StubServer(exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            if (path.endsWith("/stacks/sync")) {
+                int page = query.contains("pagination_token=") ? Integer.parseInt(
+                        query.substring(query.indexOf("pagination_token=") + "pagination_token=".length())) : 0;
+                String next = page + 1 < PAGES ? ",\"pagination_token\":\"" + (page + 1) + "\""
+                        : ",\"sync_token\":\"token\"";
+                StubServer.respond(exchange, 200, "{\"items\":[{\"uid\":\"" + page + "a\"},{\"uid\":\"" + page
+                        + "b\"}]" + next + "}");
+            } else if (path.endsWith("/entries")) {
+                StubServer.respond(exchange, 200, "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}");
+            } else {
+                StubServer.respond(exchange, 404, "{\"error_message\":\"Entry was not found.\",\"error_code\":141}");
+            }
+        });
+    }
+
+    @Test
+    void testSingleRunsTheRequestOnEverySubscription() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            Single<QueryResult> find = stack.contentType("blog").query().rxFind();
+            Assertions.assertEquals(0, server.requestCount());
+            Assertions.assertEquals(1, find.blockingGet().getResultObjects().size());
+            Assertions.assertEquals(1, find.blockingGet().getResultObjects().size());
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testSingleFailsWithTheError() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            stack.contentType("blog").entry("missing").rxFetch().test()
+                    .awaitDone(5, TimeUnit.SECONDS)
+                    .assertError(e -> e instanceof ContentstackException
+                            && ((ContentstackException) e).getError().getErrorCode() == 141);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testSyncFollowsPagesOnDemand() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            TestSubscriber<JSONObject> items = stack.rxSync().test(1);
+            long start = System.nanoTime();
+            while (items.values().isEmpty() && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+                Thread.sleep(10);
+            }
+            items.assertValueCount(1);
+            Thread.sleep(100);
+            // the subscriber asked for one item, at most the page after the first one is prefetched
+            Assertions.assertTrue(server.requestCount() <= 2, "requests " + server.requestCount());
+            items.requestMore(Long.MAX_VALUE).awaitDone(5, TimeUnit.SECONDS).assertComplete();
+            Assertions.assertEquals(PAGES * 2, items.values().size());
+            for (int i = 0; i < items.values().size(); i++) {
+                Assertions.assertEquals((i / 2) + (i % 2 == 0 ? "a" : "b"), items.values().get(i).getString("uid"));
+            }
+            Assertions.assertEquals(PAGES, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testSyncPagesEndWithTheSyncToken() throws Exception {
+        try (StubServer server = server()) {
+            Stack stack = server.stack(new Config());
+            List<SyncStack> pages = stack.rxSyncPages(null).toList().blockingGet();
+            Assertions.assertEquals(PAGES, pages.size());
+            Assertions.assertNull(pages.get(0).getSyncToken());
+            Assertions.assertEquals("token", pages.get(PAGES - 1).getSyncToken());
+            stack.close();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.contentstack.sdk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TestSingleFlight {
+
+    @Test
+    void testConcurrentCallsShareOneCall() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return "own";
+                })));
+            }
+            // followers that could not join in time would have run their own call
+            Thread.sleep(100);
+            release.countDown();
+            Assertions.assertEquals("result", leader.get());
+            for (Future<String> follower : followers) {
+                Assertions.assertEquals("result", follower.get());
+            }
+            Assertions.assertEquals(1, calls.get());
+            Assertions.assertEquals("next", singleFlight.execute("key", () -> "next"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsSharedAndNotKept() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IOException("timeout");
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "own"));
+            Thread.sleep(100);
+            release.countDown();
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, follower::get);
+            Assertions.assertTrue(e.getCause() instanceof IOException);
+            Assertions.assertThrows(ExecutionException.class, leader::get);
+            Assertions.assertEquals("own", singleFlight.execute("key", () -> "own"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFollowerWaitsAtMostItsTimeout() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Assertions.assertThrows(InterruptedIOException.class,
+                    () -> singleFlight.execute("key", () -> "own", TimeUnit.MILLISECONDS.toNanos(50)));
+            release.countDown();
+            Assertions.assertEquals("result", leader.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAbandonedCallIsStartedAgainByAFollower() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new SingleFlight.Abandoned(new InterruptedIOException("Deadline exceeded"));
+            }));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "own"));
+            Thread.sleep(100);
+            release.countDown();
+            Assertions.assertEquals("own", follower.get(5, TimeUnit.SECONDS));
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, leader::get);
+            // the leader gets its own failure, not the wrapper
+            Assertions.assertEquals(InterruptedIOException.class, e.getCause().getClass());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFollowerOutlivesTheDeadlineOfTheLeader() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (StubServer server = new StubServer(exchange -> {
+            StubServer.sleep(400);
+            StubServer.respond(exchange, 200, "{\"entries\":[{\"uid\":\"a\",\"title\":\"A\",\"_version\":1}]}");
+        })) {
+            Stack stack = server.stack(new Config().setExecutor(executor).setCoalesceRequests(true));
+            CompletableFuture<QueryResult> leader = stack.contentType("blog").query()
+                    .setDeadline(Deadline.after(100, TimeUnit.MILLISECONDS)).findAsync();
+            Thread.sleep(30);
+            CompletableFuture<QueryResult> follower = stack.contentType("blog").query().findAsync();
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(Constants.DEADLINE_EXCEEDED, e.getCause().getMessage());
+            Assertions.assertEquals(1, follower.get(5, TimeUnit.SECONDS).getResultObjects().size());
+            Assertions.assertEquals(2, server.requestCount());
+            stack.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.contentstack.sdk;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class TestSyncStack {
+
+    @Test
+    void testItemsAreReadFromTheResponse() {
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject("{\"items\":[{\"type\":\"entry_published\"},{\"type\":\"asset_deleted\"}],"
+                + "\"pagination_token\":\"next\",\"total_count\":2}"));
+        List<JSONObject> items = syncStack.getItems();
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals("asset_deleted", items.get(1).getString("type"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> items.get(2));
+        Assertions.assertEquals("next", syncStack.getPaginationToken());
+        Assertions.assertNull(syncStack.getSyncToken());
+        Assertions.assertEquals(2, syncStack.getCount());
+    }
+
+    @Test
+    void testItemsCanBeChanged() {
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject("{\"items\":[{\"uid\":\"a\"},{\"uid\":\"b\"},{\"uid\":\"c\"}]}"));
+        List<JSONObject> items = syncStack.getItems();
+        items.remove(0);
+        items.add(new JSONObject("{\"uid\":\"d\"}"));
+        items.set(0, new JSONObject("{\"uid\":\"e\"}"));
+        items.removeIf(item -> "c".equals(item.getString("uid")));
+        Assertions.assertEquals(2, items.size());
+        Assertions.assertEquals("e", items.get(0).getString("uid"));
+        Assertions.assertEquals("d", items.get(1).getString("uid"));
+        Assertions.assertSame(items, syncStack.getItems());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> items.get(2));
+    }
+
+    @Test
+    void testPageWithoutItems() {
+        SyncStack syncStack = new SyncStack();
+        syncStack.setJSON(new JSONObject("{\"sync_token\":\"token\"}"));
+        Assertions.assertNull(syncStack.getItems());
+        Assertions.assertEquals("token", syncStack.getSyncToken());
+    }
+
+    // a sync of the given number of pages, the items are numbered across the pages
+    private static StubServer server(int pages, int itemsPerPage) throws Exception {
+        return new StubServer(exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            int index = query.indexOf("pagination_token=");
+            int page = index >= 0 ? Integer.parseInt(query.substring(index + "pagination_token=".length())) : 0;
+            StringBuilder body = new StringBuilder("{\"items\":[");
+            for (int i = 0; i < itemsPerPage; i++) {
+                body.append(i > 0 ? "," : "").append("{\"uid\":\"").append(page * itemsPerPage + i).append("\"}");
+            }
+            body.append(page + 1 < pages ? "],\"pagination_token\":\"" + (page + 1) + "\"}" : "],\"sync_token\":\"token\"}");
+            StubServer.respond(exchange, 200, body.toString());
+        });
+    }
+
+    private static boolean awaitRequests(StubServer server, int count) throws InterruptedException {
+        long start = System.nanoTime();
+        while (server.requestCount() < count) {
+            if (System.nanoTime() - start > TimeUnit.SECONDS.toNanos(5)) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @Test
+    void testSyncAllFollowsThePages() throws Exception {
+        try (StubServer server = server(4, 3)) {
+            Stack stack = server.stack(new Config());
+            List<String> uids = new ArrayList<>();
+            AtomicBoolean overlapped = new AtomicBoolean(true);
+            String syncToken = stack.syncAll(new SyncConsumer() {
+                @Override
+                public void accept(JSONObject item) {
+                    uids.add(item.getString("uid"));
+                }
+
+                @Override
+                public void onPage(SyncStack page) {
+                    // the next page is requested before the consumer is done with this one
+                    try {
+                        if (page.getPaginationToken() != null && !awaitRequests(server, uids.size() / 3 + 1)) {
+                            overlapped.set(false);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("token", syncToken);
+            Assertions.assertEquals(12, uids.size());
+            for (int i = 0; i < uids.size(); i++) {
+                Assertions.assertEquals(String.valueOf(i), uids.get(i));
+            }
+            Assertions.assertTrue(overlapped.get());
+            Assertions.assertEquals(4, server.requestCount());
+            stack.close();
+        }
+    }
+
+    @Test
+    void testConsumerFailureStopsTheSync() throws Exception {
+        try (StubServer server = server(5, 2)) {
+            Stack stack = server.stack(new Config());
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> stack.syncAll(item -> {
+                throw new IllegalStateException("Store is full");
+            }).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("Store is full", e.getCause().getMessage());
+            Thread.sleep(100);
+            // only the page after the failed one was requested
+            Assertions.assertTrue(server.requestCount() <= 2);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testInlineExecutorsDontDeepenTheStack() throws Exception {
+        try (StubServer server = server(100, 1)) {
+            Stack stack = server.stack(new Config().setExecutor(Runnable::run).setCallbackExecutor(Runnable::run));
+            int[] depths = { Integer.MAX_VALUE, 0 };
+            String syncToken = stack.syncAll(item -> {
+                int depth = Thread.currentThread().getStackTrace().length;
+                depths[0] = Math.min(depths[0], depth);
+                depths[1] = Math.max(depths[1], depth);
+            }).get(5, TimeUnit.SECONDS);
+            Assertions.assertEquals("token", syncToken);
+            Assertions.assertEquals(depths[0], depths[1]);
+            stack.close();
+        }
+    }
+
+    @Test
+    void testRejectedDeliveryFailsTheSync() throws Exception {
+        ExecutorService callbackExecutor = Executors.newSingleThreadExecutor();
+        callbackExecutor.shutdown();
+        try (StubServer server = server(2, 1)) {
+            Stack stack = server.stack(new Config().setCallbackExecutor(callbackExecutor));
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                    () -> stack.syncAll(item -> { }).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+            stack.close();
+        }
+    }
+}
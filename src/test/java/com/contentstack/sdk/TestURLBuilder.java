@@ -0,0 +1,71 @@
+package com.contentstack.sdk;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class TestURLBuilder {
+
+    private static final String PATH = "https://cdn.contentstack.io/v3/content_types/blog/entries";
+
+    @Test
+    void testParamsAreSorted() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("locale", "en-us");
+        params.put("environment", "production");
+        params.put("include_count", true);
+        Assertions.assertEquals(PATH + "?environment=production&include_count=true&locale=en-us",
+                URLBuilder.build(PATH, params));
+        Assertions.assertEquals(PATH, URLBuilder.build(PATH, new HashMap<>()));
+        Assertions.assertEquals(PATH, URLBuilder.build(PATH, null));
+    }
+
+    @Test
+    void testIdenticalQueriesGiveIdenticalURLs() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("query", new JSONObject().put("title", "Hello").put("count", new JSONObject().put("$gt", 5)));
+        first.put("include[]", new JSONArray().put("author").put("category"));
+        first.put("environment", "production");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("environment", "production");
+        second.put("include[]", new JSONArray().put("category").put("author"));
+        second.put("query", new JSONObject().put("count", new JSONObject().put("$gt", 5)).put("title", "Hello"));
+        Assertions.assertEquals(URLBuilder.build(PATH, first), URLBuilder.build(PATH, second));
+    }
+
+    @Test
+    void testArraysAndFieldsAreRepeated() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("include[]", new JSONArray().put("b").put("a"));
+        params.put("only", new JSONObject().put("BASE", new JSONArray().put("title").put("url")));
+        Assertions.assertEquals(PATH + "?include%5B%5D=a&include%5B%5D=b"
+                + "&only%5BBASE%5D%5B%5D=title&only%5BBASE%5D%5B%5D=url", URLBuilder.build(PATH, params));
+    }
+
+    @Test
+    void testQueryIsCanonicalJSON() throws UnsupportedEncodingException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", new JSONObject().put("title", "A & B").put("$or",
+                new JSONArray().put(new JSONObject().put("n", 1)).put(new JSONObject().put("m", JSONObject.NULL))));
+        String json = "{\"$or\":[{\"n\":1},{\"m\":null}],\"title\":\"A & B\"}";
+        Assertions.assertEquals(PATH + "?query=" + URLEncoder.encode(json, "UTF-8"), URLBuilder.build(PATH, params));
+    }
+
+    @Test
+    void testEncodesLikeURLEncoder() throws UnsupportedEncodingException {
+        String[] values = { "plain", "with space", "a+b&c=d", "\u00FCn\u00EFc\u00F6d\u00E9", "\u65E5\u672C\u8A9E",
+                "emoji \uD83D\uDE00", "~!*'()", "lone \uD800 surrogate" };
+        for (String value : values) {
+            StringBuilder encoded = new StringBuilder();
+            URLBuilder.appendEncoded(encoded, value);
+            Assertions.assertEquals(URLEncoder.encode(value, "UTF-8"), encoded.toString(), value);
+        }
+    }
+}